@@ -0,0 +1,131 @@
+package com.srikar.kubernetes.bench;
+
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePortBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.HTTPIngressPathBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressRuleBuilder;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressTLSBuilder;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic, production-shaped API objects for the benchmarks.
+ *
+ * Shapes follow a busy namespace: pods spread over 50 nodes with a mix of phases,
+ * services with 1-4 ports (some NodePort / named target ports), ingresses with several
+ * hosts and paths, timestamps in the formats the API server actually emits.
+ */
+final class Fixtures {
+
+    static final String NAMESPACE = "bench";
+
+    private static final String[] PHASES = {"Running", "Running", "Running", "Running", "Pending", "Succeeded", "Failed"};
+    private static final String[] SERVICE_TYPES = {"ClusterIP", "ClusterIP", "ClusterIP", "NodePort", "LoadBalancer"};
+
+    private Fixtures() {}
+
+    static List<Pod> pods(int count) {
+        Random rnd = new Random(42);
+        return IntStream.range(0, count).mapToObj(i -> new PodBuilder()
+                .withNewMetadata()
+                    .withName("app-" + (i / 3) + "-" + Integer.toHexString(0x10000 + i))
+                    .withNamespace(NAMESPACE)
+                    .withUid("00000000-0000-0000-0000-" + String.format("%012d", i))
+                    .withResourceVersion(String.valueOf(1_000_000 + i))
+                    .withCreationTimestamp(timestamp(rnd))
+                    .withLabels(Map.of("app", "app-" + (i / 3), "tier", (i % 2 == 0) ? "web" : "worker"))
+                .endMetadata()
+                .withNewSpec()
+                    .withNodeName("node-" + (i % 50))
+                    .addNewContainer().withName("main").withImage("registry.local/app:" + (i % 20)).endContainer()
+                .endSpec()
+                .withNewStatus()
+                    .withPhase(PHASES[rnd.nextInt(PHASES.length)])
+                    .withPodIP("10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255))
+                    .withStartTime(timestamp(rnd))
+                .endStatus()
+                .build()).toList();
+    }
+
+    static List<Service> services(int count) {
+        Random rnd = new Random(7);
+        return IntStream.range(0, count).mapToObj(i -> {
+            String type = SERVICE_TYPES[rnd.nextInt(SERVICE_TYPES.length)];
+            int ports = 1 + rnd.nextInt(4);
+            return new ServiceBuilder()
+                    .withNewMetadata().withName("svc-" + i).withNamespace(NAMESPACE)
+                        .withCreationTimestamp(timestamp(rnd)).endMetadata()
+                    .withNewSpec()
+                        .withType(type)
+                        .withPorts(IntStream.range(0, ports).mapToObj(p -> new ServicePortBuilder()
+                                .withName("p" + p)
+                                .withPort(8080 + p)
+                                .withProtocol(p == 3 ? "UDP" : "TCP")
+                                .withTargetPort(p % 2 == 0 ? new IntOrString(9090 + p) : new IntOrString("http-" + p))
+                                .withNodePort("ClusterIP".equals(type) ? null : 30000 + (i * 4 + p) % 2768)
+                                .build()).toList())
+                    .endSpec()
+                    .build();
+        }).toList();
+    }
+
+    static List<Ingress> ingresses(int count) {
+        Random rnd = new Random(11);
+        return IntStream.range(0, count).mapToObj(i -> {
+            int hosts = 1 + rnd.nextInt(3);
+            return new IngressBuilder()
+                    .withNewMetadata().withName("ing-" + i).withNamespace(NAMESPACE)
+                        .withCreationTimestamp(timestamp(rnd)).endMetadata()
+                    .withNewSpec()
+                        .withIngressClassName(i % 4 == 0 ? null : "nginx")
+                        .withRules(IntStream.range(0, hosts).mapToObj(h -> new IngressRuleBuilder()
+                                .withHost("app-" + i + "-" + h + ".example.com")
+                                .withNewHttp()
+                                    .withPaths(IntStream.range(0, 1 + rnd.nextInt(4)).mapToObj(p -> new HTTPIngressPathBuilder()
+                                            .withPath("/api/v" + p)
+                                            .withPathType("Prefix")
+                                            .withNewBackend().withNewService().withName("svc-" + i)
+                                                .withNewPort().withNumber(8080).endPort().endService().endBackend()
+                                            .build()).toList())
+                                .endHttp()
+                                .build()).toList())
+                        .withTls(new IngressTLSBuilder()
+                                .withHosts("app-" + i + "-0.example.com")
+                                .withSecretName("tls-" + i)
+                                .build())
+                    .endSpec()
+                    .build();
+        }).toList();
+    }
+
+    /** Mix of API server formats: second precision "Z", fractional seconds, numeric offsets. */
+    static List<String> timestamps(int count) {
+        Random rnd = new Random(3);
+        return IntStream.range(0, count).mapToObj(i -> switch (i % 4) {
+            case 0, 1 -> timestamp(rnd);
+            case 2 -> DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(randomInstant(rnd).atOffset(ZoneOffset.UTC));
+            default -> DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(randomInstant(rnd).atOffset(ZoneOffset.ofHours(2)));
+        }).toList();
+    }
+
+    private static String timestamp(Random rnd) {
+        return DateTimeFormatter.ISO_INSTANT.format(randomInstant(rnd).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static Instant randomInstant(Random rnd) {
+        return Instant.parse("2024-01-01T00:00:00Z").plusMillis((long) (rnd.nextDouble() * 400L * 24 * 3600 * 1000));
+    }
+}
@@ -0,0 +1,65 @@
+package com.srikar.kubernetes.bench;
+
+import com.srikar.kubernetes.utilities.Helper;
+import io.fabric8.kubernetes.api.model.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row formatting helpers, per object (ns/op).
+ * Each invocation walks a fixture list so the JIT cannot specialize on one input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HelperBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private List<Service> services;
+    private List<String> timestamps;
+    private List<Instant> instants;
+    private int i;
+
+    @Setup
+    public void setup() {
+        services = Fixtures.services(SIZE);
+        timestamps = Fixtures.timestamps(SIZE);
+        instants = timestamps.stream().map(Helper::parseToInstant).toList();
+    }
+
+    private int next() {
+        i = (i + 1) & (SIZE - 1);
+        return i;
+    }
+
+    @Benchmark
+    public String fmtPorts() {
+        return Helper.fmtPorts(services.get(next()));
+    }
+
+    @Benchmark
+    public String fmtAgeFromString() {
+        return Helper.fmtAge(timestamps.get(next()));
+    }
+
+    @Benchmark
+    public String fmtAgeFromInstant() {
+        return Helper.fmtAge(instants.get(next()));
+    }
+
+    @Benchmark
+    public void parseToInstant(Blackhole bh) {
+        bh.consume(Helper.parseToInstant(timestamps.get(next())));
+    }
+}
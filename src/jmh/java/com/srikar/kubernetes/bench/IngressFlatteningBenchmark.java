@@ -0,0 +1,43 @@
+package com.srikar.kubernetes.bench;
+
+import com.srikar.kubernetes.dto.IngressSummary;
+import com.srikar.kubernetes.utilities.NetMapper;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Ingress → one row per rule, for a namespace (KubeNetService.listIngress on a live LIST). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngressFlatteningBenchmark {
+
+    @Param({"1000"})
+    int ingresses;
+
+    private List<Ingress> namespace;
+
+    @Setup
+    public void setup() {
+        namespace = Fixtures.ingresses(ingresses);
+    }
+
+    @Benchmark
+    public List<IngressSummary> flattenNamespace() {
+        List<IngressSummary> out = new ArrayList<>();
+        for (Ingress ing : namespace) {
+            out.addAll(NetMapper.toIngressRows(ing));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,103 @@
+package com.srikar.kubernetes.bench;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import com.srikar.kubernetes.security.JwtAuthenticationCache;
+import com.srikar.kubernetes.security.KeycloakJwtAuthConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token → authentication, with and without JwtAuthenticationCache.
+ *
+ * Both paths run RS256 verification (2048-bit key) + claim validation on a miss and the Keycloak
+ * role mapping; "cached" presents the same token repeatedly, like one UI page firing 10-20 calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private static final String CLIENT_ID = "oneinfra-ui";
+
+    private String token;
+
+    private JwtDecoder plainDecoder;
+    private JwtAuthenticationConverter plainConverter;
+
+    private JwtDecoder cachedDecoder;
+    private JwtAuthenticationConverter cachedConverter;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+        gen.initialize(2048);
+        KeyPair pair = gen.generateKeyPair();
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) pair.getPublic())
+                .privateKey((RSAPrivateKey) pair.getPrivate())
+                .keyID("bench-key")
+                .build();
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("3f2c1a7e-0000-4000-8000-000000000001")
+                .issuer("https://keycloak.local/realms/oneinfra")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", "bench.user")
+                .claim("realm_access", Map.of("roles", List.of(
+                        "offline_access", "uma_authorization", "default-roles-oneinfra",
+                        "KUBERNETES_DEV", "KUBERNETES_TEST")))
+                .claim("resource_access", Map.of(
+                        CLIENT_ID, Map.of("roles", List.of("KUBERNETES_ADMIN", "KUBERNETES_DEV")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+        token = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).keyId("bench-key").build(), claims))
+                .getTokenValue();
+
+        plainDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) pair.getPublic()).build();
+        plainConverter = KeycloakJwtAuthConverter.build(CLIENT_ID);
+
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new OneInfraSecurityProperties(), new SimpleMeterRegistry());
+        cachedDecoder = cache.decoder(plainDecoder);
+        cachedConverter = KeycloakJwtAuthConverter.build(CLIENT_ID, cache);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken uncached() {
+        return plainConverter.convert(plainDecoder.decode(token));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cached() {
+        return cachedConverter.convert(cachedDecoder.decode(token));
+    }
+}
@@ -0,0 +1,58 @@
+package com.srikar.kubernetes.bench;
+
+import com.srikar.kubernetes.security.KeycloakJwtAuthConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Jwt → authorities (scopes, realm roles, client roles); runs once per authenticated request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeycloakJwtAuthConverterBenchmark {
+
+    private static final String CLIENT_ID = "oneinfra-ui";
+
+    private JwtAuthenticationConverter converter;
+    private Jwt jwt;
+
+    @Setup
+    public void setup() {
+        converter = KeycloakJwtAuthConverter.build(CLIENT_ID);
+
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("bench-token")
+                .header("alg", "RS256")
+                .header("kid", "bench-key")
+                .subject("3f2c1a7e-0000-4000-8000-000000000001")
+                .issuer("https://keycloak.local/realms/oneinfra")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", "bench.user")
+                .claim("realm_access", Map.of("roles", List.of(
+                        "offline_access", "uma_authorization", "default-roles-oneinfra",
+                        "KUBERNETES_DEV", "KUBERNETES_TEST")))
+                .claim("resource_access", Map.of(
+                        CLIENT_ID, Map.of("roles", List.of("KUBERNETES_ADMIN", "KUBERNETES_DEV")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+}
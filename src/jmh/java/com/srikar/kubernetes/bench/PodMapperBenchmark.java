@@ -0,0 +1,43 @@
+package com.srikar.kubernetes.bench;
+
+import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.utilities.PodMapper;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Pod → PodStatus for a whole namespace, as on every live pod LIST and informer event burst. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PodMapperBenchmark {
+
+    @Param({"10000"})
+    int pods;
+
+    private List<Pod> namespace;
+
+    @Setup
+    public void setup() {
+        namespace = Fixtures.pods(pods);
+    }
+
+    @Benchmark
+    public List<PodStatus> toDtoNamespace() {
+        List<PodStatus> out = new ArrayList<>(namespace.size());
+        for (Pod p : namespace) {
+            out.add(PodMapper.toDto(p));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,46 @@
+package com.srikar.kubernetes.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secret data plaintext ↔ base64, per secret (SecretService.get / update).
+ * Lives in the service package: the codec helpers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecretCodecBenchmark {
+
+    private Map<String, String> plain;
+    private Map<String, String> encoded;
+
+    @Setup
+    public void setup() {
+        plain = new LinkedHashMap<>();
+        plain.put("username", "svc-account");
+        plain.put("password", "s3cr3t-" + "x".repeat(24));
+        plain.put("token", "eyJ" + "a".repeat(800));
+        plain.put("tls.crt", "-----BEGIN CERTIFICATE-----\n" + "MIIB".repeat(400) + "\n-----END CERTIFICATE-----\n");
+        encoded = SecretService.b64Encode(plain);
+    }
+
+    @Benchmark
+    public Map<String, String> encode() {
+        return SecretService.b64Encode(plain);
+    }
+
+    @Benchmark
+    public Map<String, String> decode() {
+        return SecretService.b64Decode(encoded);
+    }
+}
@@ -0,0 +1,114 @@
+package com.srikar.kubernetes.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.PodMapper;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire size and serialization cost of {@code ApiResponse<List<PodStatus>>} per negotiated encoding.
+ *
+ * <p><b>Setup:</b>
+ * <ul>
+ *   <li>{@code pods} synthetic pods are mapped with PodMapper, like GET /k8s/pods/{namespace}</li>
+ *   <li>"json", "cbor", "smile": the same DTOs through Jackson, one ObjectMapper per data format
+ *       (as registered in ApiConfig)</li>
+ *   <li>"json+gzip": JSON followed by gzip (server.compression), default level</li>
+ * </ul>
+ * ns/op is the mean over {@code iterations} after as many warm-up iterations.
+ *
+ * <p>Run: {@code ./gradlew encodingBenchmark -PloadTestArgs="pods=500 iterations=2000"}
+ */
+public final class EncodingBenchmark {
+
+    private EncodingBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int pods = Integer.parseInt(opts.getOrDefault("pods", "500"));
+        int iterations = Integer.parseInt(opts.getOrDefault("iterations", "2000"));
+
+        ApiResponse<List<PodStatus>> body = ApiResponses.ok("Pods fetched successfully",
+                IntStream.range(0, pods).mapToObj(EncodingBenchmark::pod).map(PodMapper::toDto).toList());
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+        List<Format> formats = List.of(
+                new Format("json", json::writeValueAsBytes),
+                new Format("json+gzip", v -> gzip(json.writeValueAsBytes(v))),
+                new Format("cbor", cbor::writeValueAsBytes),
+                new Format("smile", smile::writeValueAsBytes));
+
+        System.out.printf("pods=%d iterations=%d%n", pods, iterations);
+        System.out.printf("%-10s %12s %12s %12s%n", "format", "bytes", "vs json", "ns/op");
+
+        int jsonBytes = json.writeValueAsBytes(body).length;
+        for (Format f : formats) {
+            // warm-up: JIT, serializer caches
+            for (int i = 0; i < iterations; i++) f.encoder.encode(body);
+
+            int bytes = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                bytes = f.encoder.encode(body).length;
+            }
+            double nsPerOp = (System.nanoTime() - start) / (double) iterations;
+
+            System.out.printf("%-10s %12d %11.0f%% %12.0f%n", f.name, bytes, 100.0 * bytes / jsonBytes, nsPerOp);
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static Pod pod(int i) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName("bench-" + i)
+                    .withNamespace("bench")
+                    .withCreationTimestamp("2024-01-01T00:00:00Z")
+                .endMetadata()
+                .withNewSpec().withNodeName("node-" + (i % 10)).endSpec()
+                .withNewStatus()
+                    .withPhase("Running")
+                    .withPodIP("10.0.0." + (i % 250))
+                    .withStartTime("2024-01-01T00:00:05Z")
+                .endStatus()
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> m = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) m.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        return m;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode(Object value) throws IOException;
+    }
+
+    private record Format(String name, Encoder encoder) {}
+}
@@ -0,0 +1,165 @@
+package com.srikar.kubernetes.bench;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import com.srikar.kubernetes.security.BackgroundJwkSource;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Time to "ready" and to the first verified token: issuer discovery vs background JWKS loading.
+ *
+ * <p><b>Setup:</b>
+ * <ul>
+ *   <li>A local stub issuer serves /.well-known/openid-configuration and a JWKS, each after
+ *       {@code latencyMs} (a slow or distant Keycloak)</li>
+ *   <li>"discovery": {@code JwtDecoders.fromIssuerLocation}, i.e. issuer-uri without the
+ *       background mode; construction blocks on discovery + JWKS</li>
+ *   <li>"background-cold": BackgroundJwkSource without a disk cache (first deployment)</li>
+ *   <li>"background-warm": BackgroundJwkSource with the cache file of the previous run (restart)</li>
+ * </ul>
+ * "ready" is the time until the decoder exists (what startup / readiness waits for);
+ * "first token" additionally verifies one RS256 token.
+ *
+ * <p>Run: {@code ./gradlew jwksStartupBenchmark -PloadTestArgs="latencyMs=800"}
+ */
+public final class JwksStartupBenchmark {
+
+    private JwksStartupBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int latencyMs = Integer.parseInt(opts.getOrDefault("latencyMs", "800"));
+
+        KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+        gen.initialize(2048);
+        KeyPair pair = gen.generateKeyPair();
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) pair.getPublic())
+                .privateKey((RSAPrivateKey) pair.getPrivate())
+                .keyID("bench-key")
+                .build();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        String issuer = "http://127.0.0.1:" + server.getAddress().getPort() + "/realms/bench";
+        String jwks = new JWKSet(jwk).toString(true);
+        String discovery = "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/certs\"}";
+        serve(server, "/realms/bench/.well-known/openid-configuration", discovery, latencyMs);
+        serve(server, "/realms/bench/certs", jwks, latencyMs);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        Instant now = Instant.now();
+        String token = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)))
+                .encode(JwtEncoderParameters.from(
+                        JwsHeader.with(SignatureAlgorithm.RS256).keyId("bench-key").build(),
+                        JwtClaimsSet.builder().issuer(issuer).subject("bench").issuedAt(now)
+                                .expiresAt(now.plusSeconds(600)).build()))
+                .getTokenValue();
+
+        Path cacheDir = Files.createTempDirectory("jwks-bench");
+        OneInfraSecurityProperties.Jwks settings = new OneInfraSecurityProperties.Jwks();
+        settings.setBackground(true);
+        settings.setCacheFile(cacheDir.resolve("jwks.json").toString());
+        settings.setMissWait(Duration.ofSeconds(10));
+
+        System.out.printf("latencyMs=%d (per discovery / JWKS call)%n", latencyMs);
+        System.out.printf("%-18s %12s %16s%n", "mode", "ready ms", "first token ms");
+        try {
+            long t0 = System.nanoTime();
+            JwtDecoder discovering = JwtDecoders.fromIssuerLocation(issuer);
+            long ready = System.nanoTime();
+            discovering.decode(token);
+            print("discovery", t0, ready, System.nanoTime());
+
+            runBackground("background-cold", issuer, settings, token);
+
+            // Let the cold run's cache write land, then restart from it
+            waitForFile(Path.of(settings.getCacheFile()));
+            runBackground("background-warm", issuer, settings, token);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void runBackground(String mode, String issuer, OneInfraSecurityProperties.Jwks settings,
+                                      String token) {
+        long t0 = System.nanoTime();
+        try (BackgroundJwkSource keys = new BackgroundJwkSource(issuer, null, settings, new SimpleMeterRegistry())) {
+            keys.start();
+            DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+            processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keys));
+            processor.setJWTClaimsSetVerifier((claims, context) -> {});
+            NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+            decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+            long ready = System.nanoTime();
+
+            decoder.decode(token);
+            print(mode, t0, ready, System.nanoTime());
+        }
+    }
+
+    private static void serve(HttpServer server, String path, String body, int latencyMs) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        server.createContext(path, exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    private static void waitForFile(Path file) throws InterruptedException {
+        for (int i = 0; i < 200 && !Files.exists(file); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static void print(String mode, long t0, long ready, long firstToken) {
+        System.out.printf("%-18s %12.1f %16.1f%n", mode, (ready - t0) / 1e6, (firstToken - t0) / 1e6);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> m = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) m.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        return m;
+    }
+}
@@ -0,0 +1,180 @@
+package com.srikar.kubernetes.bench;
+
+import com.srikar.kubernetes.cluster.SharedPoolOkHttpClientFactory;
+import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import com.srikar.kubernetes.utilities.PodMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Platform vs virtual thread request handling for blocking Fabric8 calls.
+ *
+ * <p><b>Setup:</b>
+ * <ul>
+ *   <li>A local mock API server answers {@code GET /api/v1/namespaces/bench/pods} after
+ *       {@code latencyMs} (simulated API server / network latency)</li>
+ *   <li>"platform": requests run on a fixed pool of {@code platformThreads}
+ *       (Tomcat's default max of 200), like today's request handling</li>
+ *   <li>"virtual": one virtual thread per request, as with spring.threads.virtual.enabled</li>
+ *   <li>{@code requests} requests arrive as one burst; each lists the pods and maps them to
+ *       PodStatus, like GET /k8s/pods/{namespace} on a cache miss</li>
+ * </ul>
+ * Latency is measured from arrival, so time spent queued for a free thread is included.
+ *
+ * <p>Run: {@code ./gradlew loadTest -PloadTestArgs="requests=5000 latencyMs=50 platformThreads=200"}
+ */
+public final class ThreadModeLoadBenchmark {
+
+    private ThreadModeLoadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        int requests = Integer.parseInt(opts.getOrDefault("requests", "5000"));
+        int latencyMs = Integer.parseInt(opts.getOrDefault("latencyMs", "50"));
+        int platformThreads = Integer.parseInt(opts.getOrDefault("platformThreads", "200"));
+        int pods = Integer.parseInt(opts.getOrDefault("pods", "50"));
+        int rounds = Integer.parseInt(opts.getOrDefault("rounds", "3"));
+
+        HttpServer server = startMockApiServer(latencyMs, pods);
+        try (KubernetesClient client = newClient(server.getAddress().getPort())) {
+            // warm-up: connections, JIT, Jackson
+            run("warm-up", Executors.newFixedThreadPool(platformThreads), client, Math.min(requests, 500));
+
+            System.out.printf("requests=%d latencyMs=%d platformThreads=%d pods=%d%n",
+                    requests, latencyMs, platformThreads, pods);
+            System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+            for (int r = 0; r < rounds; r++) {
+                print(run("platform", Executors.newFixedThreadPool(platformThreads), client, requests));
+                print(run("virtual", Executors.newVirtualThreadPerTaskExecutor(), client, requests));
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static Result run(String mode, ExecutorService executor, KubernetesClient client, int requests)
+            throws Exception {
+        long[] latencies = new long[requests];
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                final int idx = i;
+                final long arrival = System.nanoTime();
+                futures.add(executor.submit(() -> {
+                    List<PodStatus> rows = client.pods().inNamespace("bench").list().getItems().stream()
+                            .map(PodMapper::toDto)
+                            .toList();
+                    if (rows.isEmpty()) throw new IllegalStateException("empty pod list");
+                    latencies[idx] = System.nanoTime() - arrival;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(mode, requests / (elapsed / 1e9),
+                pct(latencies, 0.50), pct(latencies, 0.99), pct(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static HttpServer startMockApiServer(int latencyMs, int pods) throws Exception {
+        PodList list = new PodListBuilder()
+                .withNewMetadata().withResourceVersion("1").endMetadata()
+                .withItems(IntStream.range(0, pods).mapToObj(ThreadModeLoadBenchmark::pod).toList())
+                .build();
+        byte[] body = Serialization.asJson(list).getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/namespaces/bench/pods", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static KubernetesClient newClient(int port) {
+        OneInfraClusterProperties.Http http = new OneInfraClusterProperties.Http();
+        // Let the server-side thread model, not the HTTP dispatcher, be the bottleneck
+        http.setMaxRequests(100_000);
+        http.setMaxRequestsPerHost(100_000);
+        http.setMaxIdleConnections(1_000);
+
+        Config config = new ConfigBuilder(Config.empty())
+                .withMasterUrl("http://127.0.0.1:" + port)
+                .withRequestRetryBackoffLimit(0)
+                .build();
+        return new KubernetesClientBuilder()
+                .withConfig(config)
+                .withHttpClientFactory(new SharedPoolOkHttpClientFactory(http))
+                .build();
+    }
+
+    private static Pod pod(int i) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withName("bench-" + i)
+                    .withNamespace("bench")
+                    .withCreationTimestamp("2024-01-01T00:00:00Z")
+                .endMetadata()
+                .withNewSpec().withNodeName("node-" + (i % 10)).endSpec()
+                .withNewStatus().withPhase("Running").withPodIP("10.0.0." + (i % 250)).endStatus()
+                .build();
+    }
+
+    private static double pct(long[] sorted, double p) {
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+
+    private static void print(Result r) {
+        System.out.printf("%-10s %12.0f %10.1f %10.1f %10.1f %10.1f%n",
+                r.mode, r.throughput, r.p50, r.p99, r.p999, r.max);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> m = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) m.put(a.substring(0, eq), a.substring(eq + 1));
+        }
+        return m;
+    }
+
+    private record Result(String mode, double throughput, double p50, double p99, double p999, double max) {}
+}
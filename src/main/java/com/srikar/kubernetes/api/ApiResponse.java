@@ -1,5 +1,7 @@
 package com.srikar.kubernetes.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 
@@ -14,4 +16,9 @@ public class ApiResponse<T> {
     private T data;
     private ZonedDateTime timestamp;
 
+    // Paged lists only: pass back as ?continue= to fetch the next page (absent on the last page)
+    @JsonProperty("continue")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String continueToken;
+
 }
@@ -0,0 +1,15 @@
+package com.srikar.kubernetes.api;
+
+/**
+ * Media types offered by list endpoints in addition to JSON.
+ *
+ * Binary encodings of the same DTOs (Jackson data formats), selected with the Accept header:
+ * - application/cbor            (RFC 8949; MediaType.APPLICATION_CBOR_VALUE)
+ * - application/x-jackson-smile (Smile, Jackson's binary JSON)
+ */
+public final class MediaTypes {
+
+    private MediaTypes() {}
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+}
@@ -0,0 +1,67 @@
+package com.srikar.kubernetes.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.srikar.kubernetes.properties.OneInfraApiProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams a paged list as NDJSON (application/x-ndjson): one JSON object per line.
+ *
+ * How it works:
+ * - Pages are pulled from the API server (or cache) with limit = oneinfra.api.stream.page-size
+ * - Each DTO is written to the response as soon as its page is mapped; the page is then dropped
+ * - Peak heap per request is bounded by the page size, not the namespace size
+ *
+ * The first page is fetched on the request thread, so "not found" / "forbidden" style
+ * failures still map to a normal HTTP status before any byte is written.
+ */
+@Component
+public class NdjsonStreamer {
+
+    /** Fetch one page: (limit, continueToken) → items + next token. */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        Page<T> fetch(int limit, String continueToken);
+    }
+
+    private final ObjectWriter writer;
+    private final int pageSize;
+
+    public NdjsonStreamer(ObjectMapper mapper, OneInfraApiProperties props) {
+        // No root value separator: the default " " would start every line after the first
+        this.writer = mapper.writer().withRootValueSeparator("");
+        this.pageSize = props.getStream().getPageSize();
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(PageFetcher<T> fetcher) {
+        Page<T> first = fetcher.fetch(pageSize, null);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = writer
+                    .createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+                Page<T> page = first;
+                while (true) {
+                    for (T item : page.getItems()) {
+                        gen.writeObject(item);
+                        gen.writeRaw('\n');
+                    }
+                    gen.flush();
+
+                    if (page.getContinueToken() == null) break;
+                    page = fetcher.fetch(pageSize, page.getContinueToken());
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
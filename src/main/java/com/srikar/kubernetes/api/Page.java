@@ -0,0 +1,17 @@
+package com.srikar.kubernetes.api;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One chunk of a list result.
+ *
+ * continueToken is null on the last page; otherwise pass it back as ?continue=
+ * to fetch the next chunk (same contract as the Kubernetes list API).
+ */
+@Value(staticConstructor = "of")
+public class Page<T> {
+    List<T> items;
+    String continueToken;
+}
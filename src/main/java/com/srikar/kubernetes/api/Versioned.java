@@ -0,0 +1,15 @@
+package com.srikar.kubernetes.api;
+
+import lombok.Value;
+
+/**
+ * A response body together with the resourceVersion of the object it was rendered from.
+ *
+ * Controllers expose resourceVersion as the ETag; Spring then answers a matching
+ * If-None-Match with 304 and no body.
+ */
+@Value(staticConstructor = "of")
+public class Versioned<T> {
+    T body;
+    String resourceVersion;
+}
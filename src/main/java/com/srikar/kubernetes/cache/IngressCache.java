@@ -0,0 +1,37 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.dto.IngressSummary;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import com.srikar.kubernetes.utilities.NetMapper;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Cluster-wide Ingress informer.
+ * Each Ingress is cached as its already-flattened rule rows.
+ */
+@Component
+public class IngressCache extends NamespacedInformerCache<Ingress, List<IngressSummary>> {
+
+    private final KubernetesClient client;
+
+    public IngressCache(KubernetesClient client, OneInfraCacheProperties props, MeterRegistry meters) {
+        super("ingresses", props.getIngresses(), meters);
+        this.client = client;
+    }
+
+    @Override
+    protected SharedIndexInformer<Ingress> newInformer(long resyncMillis) {
+        return client.network().v1().ingresses().inAnyNamespace().runnableInformer(resyncMillis);
+    }
+
+    @Override
+    protected List<IngressSummary> project(Ingress ing) {
+        return NetMapper.toIngressRows(ing);
+    }
+}
@@ -0,0 +1,393 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import com.srikar.kubernetes.utilities.Paging;
+import com.srikar.kubernetes.utilities.Threads;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, namespace-indexed projection of one Kubernetes resource kind,
+ * kept current by a single shared Fabric8 informer (one LIST + one WATCH for the whole cluster).
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Subclasses supply the informer and the projection (API object → DTO / row)</li>
+ *   <li>Projections are computed once per resourceVersion on ADDED / MODIFIED events
+ *       and dropped on DELETED, so a read is a map lookup</li>
+ *   <li>Rows are ordered by name within a namespace, same as a LIST from the API server</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>{@link #list(String)} returns {@link Optional#empty()} until the initial sync completes
+ *       (or after the informer stopped); callers fall back to a live LIST in that case</li>
+ *   <li>Startup never blocks on the API server; readiness is reported by
+ *       {@link InformerCacheHealthIndicator}</li>
+ *   <li>An informer that fails to start or sync, or stops on its own, is replaced by a new one
+ *       after an exponential backoff (1s doubling up to 5m), so a transient API server outage at
+ *       boot does not leave the cache, and readiness, down for good</li>
+ * </ul>
+ */
+@Slf4j
+public abstract class NamespacedInformerCache<T extends HasMetadata, R> {
+
+    private static final Duration RESTART_BACKOFF_MIN = Duration.ofSeconds(1);
+    private static final Duration RESTART_BACKOFF_MAX = Duration.ofMinutes(5);
+
+    /** Watch event types, as reported by the API server. */
+    public enum ChangeType { ADDED, MODIFIED, DELETED }
+
+    /**
+     * Row-level change notification.
+     * Called on the informer thread after the cache was updated; must not block.
+     */
+    @FunctionalInterface
+    public interface ChangeListener<R> {
+        void onChange(ChangeType type, String namespace, R row);
+    }
+
+    private final String resource;
+    private final boolean enabled;
+    private final Duration resync;
+
+    private final ConcurrentMap<String, ConcurrentNavigableMap<String, R>> byNamespace = new ConcurrentHashMap<>();
+    private final AtomicLong lastActivityMillis = new AtomicLong();
+    private final List<ChangeListener<R>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter resyncs;
+    private final Counter cacheReads;
+    private final Counter liveReads;
+
+    private volatile SharedIndexInformer<T> informer;
+    private volatile ScheduledExecutorService restarter;
+    private volatile boolean stopping;
+    private volatile int failedStarts;
+
+    protected NamespacedInformerCache(String resource,
+                                      OneInfraCacheProperties.Informer settings,
+                                      MeterRegistry meters) {
+        this.resource = resource;
+        this.enabled = settings.isEnabled();
+        this.resync = settings.getResync();
+
+        Gauge.builder("oneinfra.informer.synced", this, c -> c.isSynced() ? 1 : 0)
+                .description("1 when the informer completed its initial LIST and is watching")
+                .tag("resource", resource)
+                .register(meters);
+
+        Gauge.builder("oneinfra.informer.staleness", this, NamespacedInformerCache::stalenessSeconds)
+                .description("Seconds since the informer last delivered an event or resync")
+                .baseUnit("seconds")
+                .tag("resource", resource)
+                .register(meters);
+
+        Gauge.builder("oneinfra.informer.objects", byNamespace,
+                        m -> m.values().stream().mapToInt(Map::size).sum())
+                .description("Objects currently held in the cache")
+                .tag("resource", resource)
+                .register(meters);
+
+        this.resyncs = Counter.builder("oneinfra.informer.resyncs")
+                .description("Resync notifications (unchanged resourceVersion)")
+                .tag("resource", resource)
+                .register(meters);
+
+        this.cacheReads = Counter.builder("oneinfra.informer.reads")
+                .tag("resource", resource)
+                .tag("source", "cache")
+                .register(meters);
+
+        this.liveReads = Counter.builder("oneinfra.informer.reads")
+                .tag("resource", resource)
+                .tag("source", "live")
+                .register(meters);
+    }
+
+    /** Create (but do not start) the informer; e.g. {@code client.pods().inAnyNamespace().runnableInformer(resync)}. */
+    protected abstract SharedIndexInformer<T> newInformer(long resyncMillis);
+
+    /** Map an API object to the cached row. Called once per resourceVersion. */
+    protected abstract R project(T obj);
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Informer cache for {} disabled; serving live LISTs", resource);
+            return;
+        }
+        restarter = Executors.newSingleThreadScheduledExecutor(Threads.factory("informer-restart-" + resource, false));
+        startInformer();
+    }
+
+    private void startInformer() {
+        if (stopping) return;
+
+        // Rows of a previous informer may include objects deleted while it was down; those the
+        // new informer's initial LIST does not replace are dropped (with DELETED) once it synced
+        Map<String, Map<String, R>> previous = new HashMap<>();
+        byNamespace.forEach((ns, rows) -> previous.put(ns, new HashMap<>(rows)));
+
+        SharedIndexInformer<T> inf = newInformer(resync.toMillis());
+        inf.addEventHandler(new ResourceEventHandler<T>() {
+            @Override
+            public void onAdd(T obj) {
+                put(obj, ChangeType.ADDED);
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                if (Objects.equals(resourceVersion(oldObj), resourceVersion(newObj))) {
+                    resyncs.increment();
+                    touch();
+                    return;
+                }
+                put(newObj, ChangeType.MODIFIED);
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                remove(obj);
+            }
+        });
+        informer = inf;
+
+        try {
+            inf.start().whenComplete((ignored, err) -> {
+                if (err != null) {
+                    log.warn("Informer for {} failed to sync; serving live LISTs: {}", resource, err.getMessage());
+                    restartLater(inf);
+                } else {
+                    failedStarts = 0;
+                    dropVanished(previous);
+                    touch();
+                    log.info("Informer for {} synced at resourceVersion {}", resource, inf.lastSyncResourceVersion());
+                    inf.stopped().whenComplete((none, stopErr) -> {
+                        if (!stopping) {
+                            log.warn("Informer for {} stopped; serving live LISTs: {}", resource,
+                                    (stopErr != null) ? stopErr.getMessage() : "no error reported");
+                            restartLater(inf);
+                        }
+                    });
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Informer for {} failed to start; serving live LISTs: {}", resource, e.getMessage());
+            restartLater(inf);
+        }
+    }
+
+    /** Replace a failed informer after an exponential backoff. */
+    private void restartLater(SharedIndexInformer<T> failed) {
+        if (stopping || informer != failed) return;
+        try {
+            failed.stop();
+        } catch (RuntimeException e) {
+            log.debug("Stopping failed informer for {}: {}", resource, e.getMessage());
+        }
+
+        int attempt = failedStarts++;
+        long delay = Math.min(RESTART_BACKOFF_MAX.toMillis(),
+                RESTART_BACKOFF_MIN.toMillis() << Math.min(attempt, 20));
+        log.info("Restarting informer for {} in {} ms (attempt {})", resource, delay, attempt + 1);
+        try {
+            restarter.schedule(this::startInformer, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        ScheduledExecutorService r = restarter;
+        if (r != null) {
+            r.shutdownNow();
+        }
+        SharedIndexInformer<T> inf = informer;
+        if (inf != null) {
+            inf.stop();
+        }
+    }
+
+    /**
+     * Cached rows of a namespace, or empty if the cache cannot answer
+     * (disabled, not yet synced, or stopped).
+     */
+    public Optional<List<R>> list(String namespace) {
+        return page(namespace, null, null).map(Page::getItems);
+    }
+
+    /**
+     * One page of cached rows (ordered by name), or empty if the cache cannot answer.
+     *
+     * @param limit     max rows; null for all remaining rows
+     * @param afterName last name of the previous page; null for the first page
+     */
+    public Optional<Page<R>> page(String namespace, Integer limit, String afterName) {
+        if (!isSynced()) {
+            liveReads.increment();
+            return Optional.empty();
+        }
+        cacheReads.increment();
+
+        ConcurrentNavigableMap<String, R> rows = byNamespace.get(namespace);
+        if (rows == null) return Optional.of(Page.of(List.of(), null));
+
+        Map<String, R> tail = (afterName == null) ? rows : rows.tailMap(afterName, false);
+        int max = (limit == null) ? Integer.MAX_VALUE : limit;
+
+        List<R> items = new ArrayList<>();
+        String last = null;
+        for (Map.Entry<String, R> e : tail.entrySet()) {
+            if (items.size() >= max) {
+                return Optional.of(Page.of(items, Paging.cacheToken(last)));
+            }
+            items.add(e.getValue());
+            last = e.getKey();
+        }
+        return Optional.of(Page.of(items, null));
+    }
+
+    /**
+     * Page from the cache when it can answer, otherwise from the API server via {@code live}.
+     * Cache-issued continue tokens cannot be resumed against the API server (410 Gone).
+     */
+    public Page<R> pageOrLive(String namespace, Integer limit, String continueToken, Supplier<Page<R>> live) {
+        Paging.checkLimit(limit);
+        boolean apiServerToken = continueToken != null && !continueToken.isBlank()
+                && !Paging.isCacheToken(continueToken);
+
+        if (!apiServerToken) {
+            Optional<Page<R>> cached = page(namespace, limit, Paging.afterName(continueToken));
+            if (cached.isPresent()) return cached.get();
+            if (Paging.isCacheToken(continueToken)) throw Paging.expired();
+        }
+        return live.get();
+    }
+
+    public void addListener(ChangeListener<R> listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isSynced() {
+        SharedIndexInformer<T> inf = informer;
+        return inf != null && inf.isRunning() && inf.hasSynced();
+    }
+
+    /** Consecutive failed informer starts since the last successful sync. */
+    public int getFailedStarts() {
+        return failedStarts;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public double stalenessSeconds() {
+        long last = lastActivityMillis.get();
+        return (last == 0) ? Double.NaN : (System.currentTimeMillis() - last) / 1000.0;
+    }
+
+    // ---- Event handling -----------------------------------------------------
+
+    private void put(T obj, ChangeType type) {
+        ObjectMeta md = obj.getMetadata();
+        if (md == null || md.getName() == null) return;
+
+        String ns = namespaceKey(md);
+        R row = project(obj);
+        if (row != null) {
+            byNamespace.computeIfAbsent(ns, k -> new ConcurrentSkipListMap<>())
+                    .put(md.getName(), row);
+            notifyListeners(type, ns, row);
+        }
+        touch();
+    }
+
+    private void remove(T obj) {
+        ObjectMeta md = obj.getMetadata();
+        if (md == null || md.getName() == null) return;
+
+        // Empty namespace maps are kept: removing them here would race with a concurrent put.
+        String ns = namespaceKey(md);
+        ConcurrentNavigableMap<String, R> rows = byNamespace.get(ns);
+        R removed = (rows != null) ? rows.remove(md.getName()) : null;
+        if (removed != null) {
+            notifyListeners(ChangeType.DELETED, ns, removed);
+        }
+        touch();
+    }
+
+    /** Remove rows the new informer did not re-list (still the very instance captured before it started). */
+    private void dropVanished(Map<String, Map<String, R>> previous) {
+        previous.forEach((ns, rows) -> {
+            ConcurrentNavigableMap<String, R> current = byNamespace.get(ns);
+            if (current == null) return;
+            rows.forEach((name, old) -> {
+                boolean[] vanished = {false};
+                current.computeIfPresent(name, (k, row) -> {
+                    vanished[0] = (row == old);
+                    return vanished[0] ? null : row;
+                });
+                if (vanished[0]) {
+                    notifyListeners(ChangeType.DELETED, ns, old);
+                }
+            });
+        });
+    }
+
+    private void notifyListeners(ChangeType type, String namespace, R row) {
+        for (ChangeListener<R> l : listeners) {
+            try {
+                l.onChange(type, namespace, row);
+            } catch (RuntimeException e) {
+                log.warn("Change listener for {} failed: {}", resource, e.getMessage());
+            }
+        }
+    }
+
+    private void touch() {
+        lastActivityMillis.set(System.currentTimeMillis());
+    }
+
+    private static String namespaceKey(ObjectMeta md) {
+        return md.getNamespace() != null ? md.getNamespace() : "";
+    }
+
+    private static String resourceVersion(HasMetadata obj) {
+        return obj.getMetadata() != null ? obj.getMetadata().getResourceVersion() : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import com.srikar.kubernetes.utilities.PodMapper;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/** Cluster-wide pod informer serving {@link PodStatus} rows per namespace. */
+@Component
+public class PodCache extends NamespacedInformerCache<Pod, PodStatus> {
+
+    private final KubernetesClient client;
+
+    public PodCache(KubernetesClient client, OneInfraCacheProperties props, MeterRegistry meters) {
+        super("pods", props.getPods(), meters);
+        this.client = client;
+    }
+
+    @Override
+    protected SharedIndexInformer<Pod> newInformer(long resyncMillis) {
+        return client.pods().inAnyNamespace().runnableInformer(resyncMillis);
+    }
+
+    @Override
+    protected PodStatus project(Pod pod) {
+        return PodMapper.toDto(pod);
+    }
+}
@@ -0,0 +1,285 @@
+package com.srikar.kubernetes.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srikar.kubernetes.cache.NamespacedInformerCache.ChangeType;
+import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.properties.OneInfraApiProperties;
+import com.srikar.kubernetes.utilities.Threads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans pod changes out to Server-Sent-Event subscribers.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>All subscribers share the cluster-wide pod informer of {@link PodCache};
+ *       no per-client or per-namespace watch is opened against the API server</li>
+ *   <li>Each change is serialized to JSON once and queued to every subscriber of its namespace</li>
+ *   <li>A subscriber first receives a {@code snapshot} event (all pods of the namespace),
+ *       then {@code ADDED} / {@code MODIFIED} / {@code DELETED} events carrying one PodStatus</li>
+ *   <li>Changes arriving while the snapshot is taken are held back and queued right after it,
+ *       so no change is overwritten by an older snapshot (replaying one already contained in
+ *       the snapshot is harmless)</li>
+ * </ul>
+ *
+ * <p><b>Back-pressure:</b>
+ * <ul>
+ *   <li>Every subscriber has a bounded queue; a client whose queue overflows is evicted
+ *       (stream completed) and is expected to reconnect, which yields a fresh snapshot</li>
+ *   <li>Writes happen on a virtual thread per busy subscriber, never on the informer thread,
+ *       so a client stalled in a blocking socket write holds up only its own stream</li>
+ *   <li>A write pending longer than {@code send-timeout} evicts the client; heartbeat comments
+ *       are queued like events, so an idle stalled client is evicted as well</li>
+ *   <li>Eviction only marks the subscriber closed and unregisters it; the emitter is completed
+ *       on a sender thread, since {@code complete()} waits for the stalled write's lock and must
+ *       never block the informer or heartbeat thread</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PodWatchHub {
+
+    private final PodCache pods;
+    private final ObjectMapper mapper;
+    private final OneInfraApiProperties.Watch settings;
+
+    private final Map<String, Set<Subscriber>> byNamespace = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter evictions;
+
+    public PodWatchHub(PodCache pods, ObjectMapper mapper, OneInfraApiProperties props, MeterRegistry meters) {
+        this.pods = pods;
+        this.mapper = mapper;
+        this.settings = props.getWatch();
+
+        // Always virtual: a blocked write parks one cheap thread, never a shared pool slot
+        this.sender = Executors.newThreadPerTaskExecutor(Threads.factory("pod-watch-sender", true));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pod-watch-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long hbMillis = settings.getHeartbeat().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, hbMillis, hbMillis, TimeUnit.MILLISECONDS);
+        long stallCheckMillis = Math.max(1000, settings.getSendTimeout().toMillis() / 2);
+        heartbeat.scheduleAtFixedRate(this::evictStalled, stallCheckMillis, stallCheckMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("oneinfra.watch.subscribers", byNamespace,
+                        m -> m.values().stream().mapToInt(Set::size).sum())
+                .description("Open SSE pod watch streams")
+                .register(meters);
+        this.evictions = Counter.builder("oneinfra.watch.evictions")
+                .description("SSE clients evicted because their buffer overflowed or a write stalled")
+                .register(meters);
+
+        pods.addListener(this::onChange);
+    }
+
+    /** Open an SSE stream of pod changes for one namespace. */
+    public SseEmitter subscribe(String namespace) {
+        if (!pods.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Pod watch requires the pod cache");
+        }
+
+        Subscriber s = new Subscriber(namespace,
+                new SseEmitter(settings.getTimeout().toMillis()),
+                new ArrayBlockingQueue<>(settings.getBufferSize()));
+
+        s.emitter.onCompletion(() -> remove(s));
+        s.emitter.onTimeout(() -> remove(s));
+        s.emitter.onError(e -> remove(s));
+
+        // Register before taking the snapshot so nothing is missed; changes delivered meanwhile
+        // are held by the subscriber and queued after the snapshot.
+        byNamespace.computeIfAbsent(namespace, k -> ConcurrentHashMap.newKeySet()).add(s);
+
+        List<PodStatus> snapshot = pods.list(namespace).orElseThrow(() -> {
+            remove(s);
+            return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Pod cache is not synced yet");
+        });
+        Frame first = new Frame("snapshot", toJson(snapshot));
+        synchronized (s) {
+            enqueue(s, first);
+            for (Frame held : s.held) {
+                enqueue(s, held);
+            }
+            s.held = null;
+        }
+
+        return s.emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        byNamespace.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        byNamespace.clear();
+    }
+
+    // ---- Fan-out ------------------------------------------------------------
+
+    private void onChange(ChangeType type, String namespace, PodStatus row) {
+        Set<Subscriber> subs = byNamespace.get(namespace);
+        if (subs == null || subs.isEmpty()) return;
+
+        Frame frame = new Frame(type.name(), toJson(row));
+        for (Subscriber s : subs) {
+            deliver(s, frame);
+        }
+    }
+
+    /** Queue a change, or hold it while the subscriber's snapshot is not queued yet. */
+    private void deliver(Subscriber s, Frame frame) {
+        synchronized (s) {
+            if (s.held != null) {
+                if (s.held.size() >= settings.getBufferSize()) {
+                    evict(s);
+                } else {
+                    s.held.add(frame);
+                }
+                return;
+            }
+            enqueue(s, frame);
+        }
+    }
+
+    private void evictStalled() {
+        long limit = settings.getSendTimeout().toNanos();
+        long now = System.nanoTime();
+        byNamespace.values().forEach(set -> set.forEach(s -> {
+            long started = s.sendStartedNanos;
+            if (started != 0 && now - started > limit) {
+                log.info("Evicting pod watch client on namespace {}: write pending for over {}",
+                        s.namespace, settings.getSendTimeout());
+                evict(s);
+            }
+        }));
+    }
+
+    private void sendHeartbeats() {
+        Frame hb = new Frame(null, null);
+        byNamespace.values().forEach(set -> set.forEach(s -> enqueue(s, hb)));
+    }
+
+    private void enqueue(Subscriber s, Frame frame) {
+        if (s.closed) return;
+
+        if (!s.queue.offer(frame)) {
+            log.info("Evicting slow pod watch client on namespace {}", s.namespace);
+            evict(s);
+            return;
+        }
+        schedule(s);
+    }
+
+    private void evict(Subscriber s) {
+        if (s.closed) return;
+        evictions.increment();
+        remove(s);
+        try {
+            sender.execute(s.emitter::complete);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the container closes the response with the context
+        }
+    }
+
+    private void schedule(Subscriber s) {
+        if (s.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(s));
+            } catch (RuntimeException e) {
+                s.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber s) {
+        try {
+            Frame f;
+            while (!s.closed && (f = s.queue.poll()) != null) {
+                s.sendStartedNanos = System.nanoTime();
+                s.emitter.send(f.toEvent());
+                s.sendStartedNanos = 0;
+            }
+        } catch (Exception e) {
+            // Client went away; the container completes the emitter
+            remove(s);
+        } finally {
+            s.sendStartedNanos = 0;
+            s.scheduled.set(false);
+        }
+
+        if (!s.closed && !s.queue.isEmpty()) {
+            schedule(s);
+        }
+    }
+
+    private void remove(Subscriber s) {
+        s.closed = true;
+        Set<Subscriber> subs = byNamespace.get(s.namespace);
+        if (subs != null) subs.remove(s);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize pod event", e);
+        }
+    }
+
+    // ---- Types --------------------------------------------------------------
+
+    /** Pre-serialized event shared by all subscribers; name == null means heartbeat. */
+    private record Frame(String name, String json) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) return SseEmitter.event().comment("heartbeat");
+            return SseEmitter.event().name(name).data(json);
+        }
+    }
+
+    private static final class Subscriber {
+        final String namespace;
+        final SseEmitter emitter;
+        final BlockingQueue<Frame> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean closed;
+        /** System.nanoTime() when the pending write began; 0 while no write is in progress. */
+        volatile long sendStartedNanos;
+        /** Changes delivered before the snapshot was queued; null once live (guarded by this). */
+        List<Frame> held = new ArrayList<>();
+
+        Subscriber(String namespace, SseEmitter emitter, BlockingQueue<Frame> queue) {
+            this.namespace = namespace;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bounded LRU of rendered YAML, keyed by uid + resourceVersion.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>A given uid/resourceVersion pair always renders to the same YAML, so entries never
+ *       need invalidation; a changed object simply gets a new key and the old one ages out</li>
+ *   <li>On a hit the object is neither sanitized nor serialized</li>
+ *   <li>Objects without uid or resourceVersion (e.g. dry-run results) are rendered uncached</li>
+ * </ul>
+ *
+ * <p>Secret YAML (base64 values) is held here as well; size the cache with that in mind.
+ */
+@Component
+public class RenderedYamlCache {
+
+    private final Map<String, String> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public RenderedYamlCache(OneInfraCacheProperties props, MeterRegistry meters) {
+        int maxEntries = props.getYaml().getMaxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        Gauge.builder("oneinfra.yaml.cache.size", entries, Map::size)
+                .description("Rendered YAML documents held in memory")
+                .register(meters);
+        this.hits = Counter.builder("oneinfra.yaml.cache.requests").tag("result", "hit").register(meters);
+        this.misses = Counter.builder("oneinfra.yaml.cache.requests").tag("result", "miss").register(meters);
+    }
+
+    /**
+     * YAML of {@code obj}; on a miss {@code sanitize} runs first (it may strip uid and
+     * resourceVersion, which are read before).
+     */
+    public <T extends HasMetadata> String render(T obj, Consumer<T> sanitize) {
+        String key = key(obj.getMetadata());
+        if (key != null) {
+            String cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        sanitize.accept(obj);
+        String yaml = Serialization.asYaml(obj);
+        if (key != null) {
+            entries.put(key, yaml);
+        }
+        return yaml;
+    }
+
+    private static String key(ObjectMeta md) {
+        if (md == null || md.getUid() == null || md.getResourceVersion() == null) return null;
+        return md.getUid() + "@" + md.getResourceVersion();
+    }
+}
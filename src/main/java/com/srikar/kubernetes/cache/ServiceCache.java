@@ -0,0 +1,32 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.dto.ServiceSummary;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import com.srikar.kubernetes.utilities.NetMapper;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/** Cluster-wide Service informer serving pre-rendered {@link ServiceSummary} rows per namespace. */
+@Component
+public class ServiceCache extends NamespacedInformerCache<Service, ServiceSummary> {
+
+    private final KubernetesClient client;
+
+    public ServiceCache(KubernetesClient client, OneInfraCacheProperties props, MeterRegistry meters) {
+        super("services", props.getServices(), meters);
+        this.client = client;
+    }
+
+    @Override
+    protected SharedIndexInformer<Service> newInformer(long resyncMillis) {
+        return client.services().inAnyNamespace().runnableInformer(resyncMillis);
+    }
+
+    @Override
+    protected ServiceSummary project(Service svc) {
+        return NetMapper.toServiceSummary(svc);
+    }
+}
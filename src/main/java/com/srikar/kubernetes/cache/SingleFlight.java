@@ -0,0 +1,126 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads into one upstream call (single-flight).
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>The first caller of a {@link Key} (the leader) runs the call on its own thread;
+ *       callers arriving while it is in flight wait for it and get the same result or exception</li>
+ *   <li>The key is released as soon as the call finishes: nothing is cached, the next
+ *       caller starts a fresh upstream request</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>Only for reads; every caller talks to the cluster with the same service identity,
+ *       so sharing a result between users does not widen what anyone can see</li>
+ *   <li>Results are shared by reference and must be treated as immutable</li>
+ *   <li>A follower may get a result whose LIST/GET started shortly before its own request
+ *       (at most one in-flight call's worth of staleness)</li>
+ *   <li>The cluster is normalized like {@code ClusterRateLimiter}: null, blank and the default
+ *       cluster's name are one key, so they share a flight and a metric tag</li>
+ *   <li>Metrics are tagged by cluster and kind, not namespace or selector, to keep
+ *       cardinality bounded</li>
+ * </ul>
+ */
+@Component
+public class SingleFlight {
+
+    /** Identity of a read: same key means same upstream request. */
+    public record Key(String cluster, String kind, String namespace, String selector) {
+
+        /** {@code selector} folds in everything else that shapes the request (name, labels, paging). */
+        public static Key of(String cluster, String kind, String namespace, Object... selector) {
+            StringBuilder sb = new StringBuilder();
+            for (Object part : selector) {
+                if (!sb.isEmpty()) sb.append('|');
+                sb.append(part == null ? "" : part);
+            }
+            return new Key(cluster, kind, namespace, sb.toString());
+        }
+    }
+
+    private final boolean enabled;
+    private final KubernetesClientRegistry clients;
+    private final MeterRegistry meters;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlight(OneInfraCacheProperties props, KubernetesClientRegistry clients, MeterRegistry meters) {
+        this.enabled = props.getCoalesce().isEnabled();
+        this.clients = clients;
+        this.meters = meters;
+
+        Gauge.builder("oneinfra.coalesce.in.flight", inFlight, Map::size)
+                .description("Distinct upstream reads currently in flight")
+                .register(meters);
+    }
+
+    /** Result of {@code call}, shared with every identical call already in flight. */
+    @SuppressWarnings("unchecked")
+    public <T> T run(Key key, Supplier<T> call) {
+        if (!enabled) return call.get();
+
+        if (clients.isDefault(key.cluster()) && !clients.getDefaultName().equals(key.cluster())) {
+            key = new Key(clients.getDefaultName(), key.kind(), key.namespace(), key.selector());
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            count(key, "follower");
+            return (T) await(running);
+        }
+
+        count(key, "leader");
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced read", e);
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception as is (ResponseStatusException, KubernetesClientException, ...)
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void count(Key key, String role) {
+        // Counter lookup is a map hit after the first call per tag set
+        Counter.builder("oneinfra.coalesce.calls")
+                .description("Reads by role; followers are duplicate upstream calls that were collapsed")
+                .tag("cluster", key.cluster())
+                .tag("kind", key.kind())
+                .tag("role", role)
+                .register(meters)
+                .increment();
+    }
+}
@@ -0,0 +1,129 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.dto.ClusterHealth;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-cluster health state, fed by {@link ClusterHealthProber}.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>After {@code oneinfra.clusters.probe.failure-threshold} consecutive failed probes the
+ *       circuit of a cluster opens: {@link #checkClosed(String)} rejects requests with 503
+ *       immediately instead of letting them wait on socket / connect timeouts</li>
+ *   <li>Probes keep running while the circuit is open; the first successful probe closes it</li>
+ *   <li>A cluster that was never probed is treated as reachable</li>
+ *   <li>Meters of a cluster are registered on its first probe and removed by {@link #forget(String)}</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ClusterCircuitBreaker {
+
+    private final int failureThreshold;
+    private final MeterRegistry meters;
+
+    private final ConcurrentMap<String, ClusterHealth> states = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ClusterMeters> clusterMeters = new ConcurrentHashMap<>();
+
+    public ClusterCircuitBreaker(OneInfraClusterProperties props, MeterRegistry meters) {
+        this.failureThreshold = props.getProbe().getFailureThreshold();
+        this.meters = meters;
+    }
+
+    /** Throw 503 if the circuit of this cluster is open. */
+    public void checkClosed(String cluster) {
+        ClusterHealth h = states.get(cluster);
+        if (h != null && h.isCircuitOpen()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Cluster " + cluster + " is unreachable: " + h.getError());
+        }
+    }
+
+    public void onSuccess(String cluster, Duration latency) {
+        record(cluster, latency, null);
+    }
+
+    public void onFailure(String cluster, Duration latency, String error) {
+        record(cluster, latency, error);
+    }
+
+    /** Last known state, or null if the cluster was not probed yet. */
+    public ClusterHealth get(String cluster) {
+        return states.get(cluster);
+    }
+
+    public Collection<ClusterHealth> all() {
+        return states.values();
+    }
+
+    /** Drop the state of a cluster whose client was closed; it is probed again on next use. */
+    public void forget(String cluster) {
+        states.remove(cluster);
+        ClusterMeters m = clusterMeters.remove(cluster);
+        if (m != null) {
+            meters.remove(m.up());
+            meters.remove(m.success());
+            meters.remove(m.failure());
+        }
+    }
+
+    private void record(String cluster, Duration latency, String error) {
+        boolean ok = (error == null);
+
+        ClusterHealth next = states.compute(cluster, (k, prev) -> {
+            int failures = ok ? 0 : ((prev != null) ? prev.getConsecutiveFailures() : 0) + 1;
+            return ClusterHealth.builder()
+                    .cluster(cluster)
+                    .state(ok ? ClusterHealth.State.UP : ClusterHealth.State.DOWN)
+                    .checkedAt(Instant.now())
+                    .latencyMillis(latency.toMillis())
+                    .consecutiveFailures(failures)
+                    .error(error)
+                    .circuitOpen(failures >= failureThreshold)
+                    .build();
+        });
+
+        if (next.getConsecutiveFailures() == failureThreshold) {
+            log.warn("Cluster {} unreachable after {} probes, failing fast: {}", cluster, failureThreshold, error);
+        }
+
+        ClusterMeters m = clusterMeters.computeIfAbsent(cluster, this::registerMeters);
+        (ok ? m.success() : m.failure()).record(latency);
+    }
+
+    private ClusterMeters registerMeters(String cluster) {
+        Gauge up = Gauge.builder("oneinfra.cluster.up", states, m -> {
+                    ClusterHealth h = m.get(cluster);
+                    return (h != null && h.isUp()) ? 1 : 0;
+                })
+                .description("1 when the last health probe of the cluster succeeded")
+                .tag("cluster", cluster)
+                .register(meters);
+
+        return new ClusterMeters(up, probeTimer(cluster, "success"), probeTimer(cluster, "failure"));
+    }
+
+    private Timer probeTimer(String cluster, String outcome) {
+        return Timer.builder("oneinfra.cluster.probe")
+                .description("Cluster health probe latency")
+                .tag("cluster", cluster)
+                .tag("outcome", outcome)
+                .register(meters);
+    }
+
+    private record ClusterMeters(Gauge up, Timer success, Timer failure) {}
+}
@@ -0,0 +1,110 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.dto.ClusterHealth;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background health probe of every cluster with an active client.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Sends {@code GET /readyz} (configurable) to each API server, all probes in parallel,
+ *       every {@code oneinfra.clusters.probe.interval-millis}</li>
+ *   <li>Each probe is bounded by {@code oneinfra.clusters.probe.timeout}</li>
+ *   <li>Results (state, latency, time) go to {@link ClusterCircuitBreaker}; callers such as
+ *       {@code /k8s/diag} read the cached result instead of contacting the cluster</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ClusterHealthProber {
+
+    private final KubernetesClientRegistry clients;
+    private final ClusterCircuitBreaker breaker;
+    private final OneInfraClusterProperties.Probe settings;
+
+    public ClusterHealthProber(KubernetesClientRegistry clients,
+                               ClusterCircuitBreaker breaker,
+                               OneInfraClusterProperties props) {
+        this.clients = clients;
+        this.breaker = breaker;
+        this.settings = props.getProbe();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${oneinfra.clusters.probe.interval-millis:15000}")
+    public void probeAll() {
+        Map<String, KubernetesClient> targets = clients.probeTargets();
+        CompletableFuture.allOf(targets.entrySet().stream()
+                        .map(e -> probe(e.getKey(), e.getValue()))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    /** Cached health of a cluster; probes once (synchronously) if it was never probed. */
+    public ClusterHealth health(String cluster) {
+        String name = clients.isDefault(cluster) ? clients.getDefaultName() : cluster;
+        ClusterHealth h = breaker.get(name);
+        if (h != null) return h;
+
+        probe(name, clients.get(cluster)).join();
+        return breaker.get(name);
+    }
+
+    /** Cached health of all probed clusters, by name. */
+    public List<ClusterHealth> all() {
+        return breaker.all().stream()
+                .sorted(Comparator.comparing(ClusterHealth::getCluster))
+                .toList();
+    }
+
+    private CompletableFuture<Void> probe(String cluster, KubernetesClient client) {
+        long start = System.nanoTime();
+        try {
+            HttpClient http = client.getHttpClient();
+            HttpRequest req = http.newHttpRequestBuilder()
+                    .uri(URLUtils.join(client.getMasterUrl().toString(), settings.getPath()))
+                    .build();
+
+            return http.sendAsync(req, String.class)
+                    .orTimeout(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((resp, err) -> {
+                        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                        if (err != null) {
+                            breaker.onFailure(cluster, latency, describe(err));
+                        } else if (!resp.isSuccessful()) {
+                            breaker.onFailure(cluster, latency, "HTTP " + resp.code());
+                        } else {
+                            breaker.onSuccess(cluster, latency);
+                        }
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            breaker.onFailure(cluster, Duration.ofNanos(System.nanoTime() - start), describe(e));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private String describe(Throwable err) {
+        Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+        if (cause instanceof TimeoutException) {
+            return "probe timed out after " + settings.getTimeout().toMillis() + " ms";
+        }
+        return (cause.getMessage() != null) ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
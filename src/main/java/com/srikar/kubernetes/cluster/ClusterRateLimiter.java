@@ -0,0 +1,272 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Client-side rate limiter and bulkhead per cluster, with priority lanes.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Every call names a {@link Lane}; each lane of a cluster has its own concurrency limit
+ *       (bulkhead), so a burst of YAML applies cannot take the slots of interactive reads</li>
+ *   <li>All lanes of a cluster share one token bucket (qps, burst); when tokens are scarce,
+ *       waiting INTERACTIVE calls are served before WRITE, and WRITE before BACKGROUND</li>
+ *   <li>A call that gets neither a slot nor a token within its lane's max-wait is rejected
+ *       with 429, before anything is sent to the cluster</li>
+ *   <li>A 429 from the API server empties the bucket, so the following calls are paced at
+ *       qps instead of bursting into the throttled server again</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>One token per service-level call (a LIST page, a GET, one apply, one deletecollection);
+ *       Fabric8's own retries are not counted again</li>
+ *   <li>Informer LIST/WATCH and health probes are not limited: they are long-lived or must
+ *       keep running while the cluster is busy</li>
+ *   <li>The cluster's client is resolved first, so unknown clusters (404) and open circuits
+ *       (503) fail before queueing and never get a limiter or meters</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ClusterRateLimiter {
+
+    /** Priority lanes, highest first. */
+    public enum Lane {
+        /** Reads a user is waiting for (list / get / YAML). */
+        INTERACTIVE,
+        /** Creates, applies and deletes. */
+        WRITE,
+        /** Scheduled work nobody waits on (inventory refresh). */
+        BACKGROUND
+    }
+
+    private final KubernetesClientRegistry clients;
+    private final OneInfraClusterProperties.RateLimit settings;
+    private final MeterRegistry meters;
+
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public ClusterRateLimiter(KubernetesClientRegistry clients, OneInfraClusterProperties props, MeterRegistry meters) {
+        this.clients = clients;
+        this.settings = props.getRateLimit();
+        this.meters = meters;
+    }
+
+    /** Run {@code call} against {@code cluster} once a slot of {@code lane} and a token are available. */
+    public <T> T run(String cluster, Lane lane, Supplier<T> call) {
+        if (!settings.isEnabled()) return call.get();
+
+        clients.get(cluster);
+        String name = clients.isDefault(cluster) ? clients.getDefaultName() : cluster;
+        Limiter limiter = limiters.computeIfAbsent(name, this::newLimiter);
+        LaneState state = limiter.lanes.get(lane);
+
+        acquire(name, limiter, lane, state);
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            if (isThrottled(e)) {
+                limiter.throttled.increment();
+                limiter.bucket.drain();
+            }
+            throw e;
+        } finally {
+            state.permits.release();
+        }
+    }
+
+    private void acquire(String cluster, Limiter limiter, Lane lane, LaneState state) {
+        long start = System.nanoTime();
+        long deadline = start + state.maxWaitNanos;
+
+        state.queued.incrementAndGet();
+        try {
+            if (!state.permits.tryAcquire(state.maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(cluster, lane, state.rejectedConcurrency);
+            }
+            if (!limiter.bucket.acquire(lane, deadline)) {
+                state.permits.release();
+                throw reject(cluster, lane, state.rejectedRate);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while queued", e);
+        } finally {
+            state.queued.decrementAndGet();
+            state.wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** 429 from the API server, via the Fabric8 DSL or a raw HTTP call mapped to a status exception. */
+    private static boolean isThrottled(RuntimeException e) {
+        int tooMany = HttpStatus.TOO_MANY_REQUESTS.value();
+        if (e instanceof KubernetesClientException kce) return kce.getCode() == tooMany;
+        if (e instanceof ResponseStatusException rse) return rse.getStatusCode().value() == tooMany;
+        return false;
+    }
+
+    private static ResponseStatusException reject(String cluster, Lane lane, Counter counter) {
+        counter.increment();
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many " + lane.name().toLowerCase(Locale.ROOT) + " requests to cluster " + cluster + "; retry later");
+    }
+
+    private Limiter newLimiter(String cluster) {
+        log.info("Rate limiting cluster {}: {} qps, burst {}", cluster, settings.getQps(), settings.getBurst());
+
+        Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            OneInfraClusterProperties.LaneLimits limits = switch (lane) {
+                case INTERACTIVE -> settings.getInteractive();
+                case WRITE -> settings.getWrite();
+                case BACKGROUND -> settings.getBackground();
+            };
+            lanes.put(lane, new LaneState(cluster, lane, limits, meters));
+        }
+
+        Counter throttled = Counter.builder("oneinfra.ratelimit.throttled")
+                .description("429 responses from the API server")
+                .tag("cluster", cluster)
+                .register(meters);
+
+        return new Limiter(new TokenBucket(settings.getQps(), settings.getBurst()), lanes, throttled);
+    }
+
+    // ---- Types --------------------------------------------------------------
+
+    private record Limiter(TokenBucket bucket, Map<Lane, LaneState> lanes, Counter throttled) {}
+
+    private static final class LaneState {
+        final Semaphore permits;
+        final long maxWaitNanos;
+        final AtomicInteger queued = new AtomicInteger();
+        final Timer wait;
+        final Counter rejectedConcurrency;
+        final Counter rejectedRate;
+
+        LaneState(String cluster, Lane lane, OneInfraClusterProperties.LaneLimits limits, MeterRegistry meters) {
+            this.permits = new Semaphore(limits.getConcurrency(), true);
+            this.maxWaitNanos = limits.getMaxWait().toNanos();
+
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            int concurrency = limits.getConcurrency();
+            Gauge.builder("oneinfra.ratelimit.queue.depth", queued, AtomicInteger::get)
+                    .description("Calls waiting for a slot or a token")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(meters);
+            Gauge.builder("oneinfra.ratelimit.in.flight", permits, p -> concurrency - p.availablePermits())
+                    .description("Calls running against the cluster")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(meters);
+            this.wait = Timer.builder("oneinfra.ratelimit.wait")
+                    .description("Time spent queued before the call was sent or rejected")
+                    .tag("cluster", cluster)
+                    .tag("lane", tag)
+                    .register(meters);
+            this.rejectedConcurrency = rejected(meters, cluster, tag, "concurrency");
+            this.rejectedRate = rejected(meters, cluster, tag, "rate");
+        }
+
+        private static Counter rejected(MeterRegistry meters, String cluster, String lane, String reason) {
+            return Counter.builder("oneinfra.ratelimit.rejected")
+                    .description("Calls rejected with 429 after max-wait")
+                    .tag("cluster", cluster)
+                    .tag("lane", lane)
+                    .tag("reason", reason)
+                    .register(meters);
+        }
+    }
+
+    /** Token bucket whose waiters are served by lane priority. */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final int[] waiting = new int[Lane.values().length];
+
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double qps, int burst) {
+            this.tokensPerNano = qps / 1e9;
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+        }
+
+        /** Take one token, waiting until {@code deadline} (System.nanoTime); false on timeout. */
+        boolean acquire(Lane lane, long deadline) throws InterruptedException {
+            lock.lock();
+            waiting[lane.ordinal()]++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    if (tokens >= 1 && !higherWaiting(lane)) {
+                        tokens -= 1;
+                        return true;
+                    }
+
+                    long remaining = deadline - now;
+                    if (remaining <= 0) return false;
+
+                    // No token: sleep until the next one; token held back for a higher lane: until signalled
+                    long untilToken = (tokens >= 1) ? remaining : (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    changed.awaitNanos(Math.max(1, Math.min(remaining, untilToken)));
+                }
+            } finally {
+                waiting[lane.ordinal()]--;
+                changed.signalAll();
+                lock.unlock();
+            }
+        }
+
+        /** Drop the remaining burst, e.g. after the server answered 429. */
+        void drain() {
+            lock.lock();
+            try {
+                refill(System.nanoTime());
+                tokens = Math.min(tokens, 0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean higherWaiting(Lane lane) {
+            for (int i = 0; i < lane.ordinal(); i++) {
+                if (waiting[i] > 0) return true;
+            }
+            return false;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
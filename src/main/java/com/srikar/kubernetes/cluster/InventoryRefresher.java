@@ -0,0 +1,196 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.db.ClusterRepository;
+import com.srikar.kubernetes.entity.ClusterEntity;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import com.srikar.kubernetes.service.ClusterInventoryService;
+import com.srikar.kubernetes.utilities.Threads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the node snapshot of every cluster in {@code clusters} current, so
+ * {@code GET /k8s/clusters} reads fresh rows without anyone waiting for a refresh.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Every {@code tick-millis} the registered clusters are read and each cluster whose
+ *       next refresh is due is submitted to a bounded worker pool ({@code parallelism})</li>
+ *   <li>The next refresh is scheduled {@code interval} ± {@code jitter} after the start of
+ *       the previous one</li>
+ *   <li>Skip-if-running: a cluster is never refreshed twice concurrently</li>
+ *   <li>A refresh exceeding {@code timeout} (measured from when it starts running, not from
+ *       when it was queued) is interrupted and counted as a timeout</li>
+ *   <li>Clusters removed from the table lose their state and meters</li>
+ *   <li>Node LISTs run in the BACKGROUND lane of {@link ClusterRateLimiter}, behind user requests</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class InventoryRefresher {
+
+    private final ClusterRepository clusters;
+    private final ClusterInventoryService inventory;
+    private final OneInfraClusterProperties.Refresh settings;
+    private final MeterRegistry meters;
+
+    private final ConcurrentMap<String, State> states = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService watchdog;
+    private final Counter skipped;
+
+    public InventoryRefresher(ClusterRepository clusters,
+                              ClusterInventoryService inventory,
+                              OneInfraClusterProperties props,
+                              MeterRegistry meters,
+                              Environment env) {
+        this.clusters = clusters;
+        this.inventory = inventory;
+        this.settings = props.getRefresh();
+        this.meters = meters;
+
+        this.workers = Executors.newFixedThreadPool(settings.getParallelism(),
+                Threads.factory("inventory-refresh", Threading.VIRTUAL.isActive(env)));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "inventory-refresh-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.skipped = Counter.builder("oneinfra.inventory.refresh.skipped")
+                .description("Due refreshes skipped because the previous one was still running")
+                .register(meters);
+    }
+
+    @Scheduled(fixedDelayString = "${oneinfra.clusters.refresh.tick-millis:5000}")
+    public void tick() {
+        if (!settings.isEnabled()) return;
+
+        Set<String> names = clusters.findAll().stream()
+                .map(ClusterEntity::getName)
+                .collect(Collectors.toSet());
+
+        states.forEach((name, s) -> {
+            if (!names.contains(name) && states.remove(name, s)) {
+                meters.remove(s.age);
+                meters.find("oneinfra.inventory.refresh").tag("cluster", name).timers().forEach(meters::remove);
+            }
+        });
+
+        long now = System.currentTimeMillis();
+        for (String name : names) {
+            State s = states.computeIfAbsent(name, this::newState);
+            if (now < s.nextDueMillis) continue;
+
+            if (!s.running.compareAndSet(false, true)) {
+                skipped.increment();
+                continue;
+            }
+            s.nextDueMillis = now + jittered(settings.getInterval());
+            submit(name, s);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // ---- Refresh ------------------------------------------------------------
+
+    private void submit(String name, State s) {
+        try {
+            s.task = workers.submit(() -> refresh(name, s));
+        } catch (RejectedExecutionException e) {
+            s.running.set(false);
+        }
+    }
+
+    private void refresh(String name, State s) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+
+        // Armed here rather than on submit: a refresh still queued behind the pool is never
+        // cancelled (it would never reach the finally below and the cluster would stay 'running')
+        ScheduledFuture<?> timer = watchdog.schedule(() -> {
+            Future<?> f = s.task;
+            if (f != null && f.cancel(true)) {
+                log.warn("Inventory refresh of cluster {} exceeded {}", name, settings.getTimeout());
+            }
+        }, settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            inventory.upsertClusterFromK8s(name, ClusterRateLimiter.Lane.BACKGROUND);
+            s.lastSuccessMillis = System.currentTimeMillis();
+            outcome = "success";
+        } catch (Exception e) {
+            if (System.nanoTime() - start >= settings.getTimeout().toNanos()) {
+                outcome = "timeout";
+            } else {
+                log.warn("Inventory refresh of cluster {} failed: {}", name, e.getMessage());
+            }
+        } finally {
+            Timer.builder("oneinfra.inventory.refresh")
+                    .description("Background node inventory refresh duration")
+                    .tag("cluster", name)
+                    .tag("outcome", outcome)
+                    .register(meters)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            timer.cancel(false);
+            s.running.set(false);
+        }
+    }
+
+    private State newState(String name) {
+        State s = new State();
+        // Spread the first round over the jitter window instead of refreshing everything at once
+        long window = (long) (settings.getInterval().toMillis() * settings.getJitter());
+        s.nextDueMillis = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(Math.max(1, window));
+
+        s.age = Gauge.builder("oneinfra.inventory.refresh.age", s, st -> st.lastSuccessMillis == 0
+                        ? Double.NaN
+                        : (System.currentTimeMillis() - st.lastSuccessMillis) / 1000.0)
+                .description("Seconds since the last successful inventory refresh")
+                .baseUnit("seconds")
+                .tag("cluster", name)
+                .register(meters);
+        return s;
+    }
+
+    private long jittered(Duration interval) {
+        long base = interval.toMillis();
+        long spread = (long) (base * settings.getJitter());
+        return (spread <= 0) ? base : base - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    private static final class State {
+        final AtomicBoolean running = new AtomicBoolean();
+        volatile long nextDueMillis;
+        volatile long lastSuccessMillis;
+        volatile Future<?> task;
+        Gauge age;
+    }
+}
@@ -0,0 +1,159 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.db.ClusterRepository;
+import com.srikar.kubernetes.dto.ClusterHealth;
+import com.srikar.kubernetes.entity.ClusterEntity;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * KubernetesClient per cluster name.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>{@code null}, blank or {@code oneinfra.clusters.default-name} → the default (ambient) client</li>
+ *   <li>Any other name is looked up in the {@code clusters} table on first use and a client is built
+ *       from its {@code kube_context} / {@code api_server_url}</li>
+ *   <li>Rows without connection settings keep the legacy single-cluster behaviour
+ *       and use the default client</li>
+ *   <li>All clients share one HTTP connection pool ({@link SharedPoolOkHttpClientFactory}); each
+ *       has its own dispatcher, so closing one client never cancels calls of another</li>
+ *   <li>Clients idle for {@code oneinfra.clusters.idle-timeout} are closed and rebuilt on next use;
+ *       a client whose circuit is open is kept (and probed) until it closes, otherwise eviction
+ *       would reset the cluster to "never probed = reachable" and requests would hang again</li>
+ *   <li>While the circuit of a cluster is open ({@link ClusterCircuitBreaker}) {@link #get(String)}
+ *       fails fast with 503</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KubernetesClientRegistry {
+
+    private final KubernetesClient defaultClient;
+    private final ClusterRepository clusters;
+    private final SharedPoolOkHttpClientFactory httpClientFactory;
+    private final OneInfraClusterProperties props;
+    private final ClusterCircuitBreaker breaker;
+
+    private final ConcurrentMap<String, Entry> clients = new ConcurrentHashMap<>();
+
+    public KubernetesClientRegistry(KubernetesClient defaultClient,
+                                    ClusterRepository clusters,
+                                    SharedPoolOkHttpClientFactory httpClientFactory,
+                                    OneInfraClusterProperties props,
+                                    ClusterCircuitBreaker breaker) {
+        this.defaultClient = defaultClient;
+        this.clusters = clusters;
+        this.httpClientFactory = httpClientFactory;
+        this.props = props;
+        this.breaker = breaker;
+    }
+
+    /** Client for a cluster; 404 if the cluster is not registered, 503 while it is unreachable. */
+    public KubernetesClient get(String cluster) {
+        if (isDefault(cluster)) {
+            breaker.checkClosed(props.getDefaultName());
+            return defaultClient;
+        }
+
+        breaker.checkClosed(cluster);
+        Entry e = clients.computeIfAbsent(cluster, this::create);
+        e.lastUsedMillis = System.currentTimeMillis();
+        return e.client;
+    }
+
+    public boolean isDefault(String cluster) {
+        return cluster == null || cluster.isBlank() || cluster.equals(props.getDefaultName());
+    }
+
+    public String getDefaultName() {
+        return props.getDefaultName();
+    }
+
+    /** Default client plus every cached client, by cluster name (no circuit check). */
+    public Map<String, KubernetesClient> probeTargets() {
+        Map<String, KubernetesClient> targets = new LinkedHashMap<>();
+        targets.put(props.getDefaultName(), defaultClient);
+        clients.forEach((name, e) -> targets.put(name, e.client));
+        return targets;
+    }
+
+    /** Drop a cached client (e.g. after its connection settings changed). */
+    public void evict(String cluster) {
+        Entry e = clients.remove(cluster);
+        if (e != null) e.close();
+        breaker.forget(cluster);
+    }
+
+    @Scheduled(fixedDelayString = "${oneinfra.clusters.evict-check-millis:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - props.getIdleTimeout().toMillis();
+        clients.forEach((name, e) -> {
+            // Requests rejected by an open circuit never touch lastUsedMillis
+            ClusterHealth health = breaker.get(name);
+            if (health != null && health.isCircuitOpen()) return;
+
+            if (e.lastUsedMillis < cutoff && clients.remove(name, e)) {
+                log.info("Closing idle Kubernetes client for cluster {}", name);
+                e.close();
+                breaker.forget(name);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        clients.values().forEach(Entry::close);
+        clients.clear();
+    }
+
+    private Entry create(String cluster) {
+        ClusterEntity c = clusters.findByName(cluster)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown cluster: " + cluster));
+
+        boolean hasContext = c.getKubeContext() != null && !c.getKubeContext().isBlank();
+        boolean hasUrl = c.getApiServerUrl() != null && !c.getApiServerUrl().isBlank();
+
+        if (!hasContext && !hasUrl) {
+            return new Entry(defaultClient, false);
+        }
+
+        Config cfg = Config.autoConfigure(hasContext ? c.getKubeContext() : null);
+        if (hasUrl) cfg.setMasterUrl(c.getApiServerUrl());
+
+        log.info("Creating Kubernetes client for cluster {} ({})", cluster, cfg.getMasterUrl());
+        KubernetesClient client = new KubernetesClientBuilder()
+                .withConfig(cfg)
+                .withHttpClientFactory(httpClientFactory)
+                .build();
+        return new Entry(client, true);
+    }
+
+    private static final class Entry {
+        final KubernetesClient client;
+        final boolean owned;          // false → default client, never closed here
+        volatile long lastUsedMillis = System.currentTimeMillis();
+
+        Entry(KubernetesClient client, boolean owned) {
+            this.client = client;
+            this.owned = owned;
+        }
+
+        void close() {
+            if (owned) client.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientFactory;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fabric8 HTTP client factory whose clients all share one OkHttp connection pool.
+ *
+ * Every cluster still gets its own TLS / auth configuration (OkHttp keys pooled connections by
+ * address + TLS settings), but idle connections and keep-alive eviction are shared instead of
+ * being multiplied by the number of clusters.
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>Each client gets its own {@link Dispatcher}: closing a Fabric8 client cancels every call
+ *       on its dispatcher and shuts down the dispatcher's executor, which must not hit the
+ *       other clusters (or the default client and its informers) when one idle client is evicted</li>
+ *   <li>Closing a client also evicts the idle connections of the shared pool; in-flight calls
+ *       of other clients are unaffected, they only reconnect on their next request</li>
+ *   <li>Dispatcher threads are created on demand and die after 60s idle, so idle clusters
+ *       hold no threads</li>
+ * </ul>
+ */
+public class SharedPoolOkHttpClientFactory extends OkHttpClientFactory {
+
+    private final ConnectionPool pool;
+    private final OneInfraClusterProperties.Http http;
+
+    public SharedPoolOkHttpClientFactory(OneInfraClusterProperties.Http http) {
+        this.pool = new ConnectionPool(
+                http.getMaxIdleConnections(),
+                http.getKeepAlive().toMillis(),
+                TimeUnit.MILLISECONDS);
+        this.http = http;
+    }
+
+    @Override
+    protected void additionalConfig(OkHttpClient.Builder builder) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(http.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+        builder.connectionPool(pool).dispatcher(dispatcher);
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+}
@@ -0,0 +1,10 @@
+package com.srikar.kubernetes.config;
+
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OneInfraCacheProperties.class)
+public class CacheConfig {
+}
@@ -0,0 +1,75 @@
+package com.srikar.kubernetes.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import com.srikar.kubernetes.security.BackgroundJwkSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * JwtDecoder backed by {@link BackgroundJwkSource} (oneinfra.security.jwks.background=true).
+ *
+ * Replaces Spring Boot's issuer-uri decoder: same key algorithms and issuer / timestamp
+ * validation, but startup and requests never wait on OIDC discovery.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "oneinfra.security.jwks", name = "background", havingValue = "true")
+public class JwksConfig {
+
+    @Bean(destroyMethod = "close")
+    public BackgroundJwkSource backgroundJwkSource(OAuth2ResourceServerProperties resourceServer,
+                                                   OneInfraSecurityProperties props,
+                                                   MeterRegistry meters) {
+        OAuth2ResourceServerProperties.Jwt jwt = resourceServer.getJwt();
+        BackgroundJwkSource source = new BackgroundJwkSource(
+                jwt.getIssuerUri(), jwt.getJwkSetUri(), props.getJwks(), meters);
+        source.start();
+        return source;
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(BackgroundJwkSource keys, OAuth2ResourceServerProperties resourceServer) {
+        OAuth2ResourceServerProperties.Jwt jwt = resourceServer.getJwt();
+
+        Set<JWSAlgorithm> algorithms = jwt.getJwsAlgorithms().stream()
+                .map(JWSAlgorithm::parse)
+                .collect(Collectors.toSet());
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, keys));
+        // Claims are validated by Spring's validators below
+        processor.setJWTClaimsSetVerifier((claims, context) -> {});
+
+        OAuth2TokenValidator<Jwt> validator = (jwt.getIssuerUri() != null)
+                ? JwtValidators.createDefaultWithIssuer(jwt.getIssuerUri())
+                : JwtValidators.createDefault();
+        List<String> audiences = jwt.getAudiences();
+        if (!audiences.isEmpty()) {
+            validator = new DelegatingOAuth2TokenValidator<>(validator, new JwtClaimValidator<List<String>>(
+                    JwtClaimNames.AUD, aud -> aud != null && !Collections.disjoint(aud, audiences)));
+        }
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(validator);
+        return decoder;
+    }
+}
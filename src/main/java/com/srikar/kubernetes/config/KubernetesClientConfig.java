@@ -1,16 +1,29 @@
 package com.srikar.kubernetes.config;
 
+import com.srikar.kubernetes.cluster.SharedPoolOkHttpClientFactory;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(OneInfraClusterProperties.class)
 public class KubernetesClientConfig {
 
+    /** One HTTP connection pool for the default client and every registry client (each has its own dispatcher). */
+    @Bean
+    public SharedPoolOkHttpClientFactory kubernetesHttpClientFactory(OneInfraClusterProperties props) {
+        return new SharedPoolOkHttpClientFactory(props.getHttp());
+    }
+
+    /** Client of the default (ambient) cluster; other clusters come from KubernetesClientRegistry. */
     @Bean(destroyMethod = "close")
-    public KubernetesClient kubernetesClient() {
-        return new KubernetesClientBuilder().build();
+    public KubernetesClient kubernetesClient(SharedPoolOkHttpClientFactory httpClientFactory) {
+        return new KubernetesClientBuilder()
+                .withHttpClientFactory(httpClientFactory)
+                .build();
     }
 
 }
@@ -1,6 +1,7 @@
 package com.srikar.kubernetes.config;
 
 import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import com.srikar.kubernetes.security.JwtAuthenticationCache;
 import com.srikar.kubernetes.security.KeycloakJwtAuthConverter;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -24,12 +26,14 @@ public class SecurityConfig {
     @Bean
     SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            OneInfraSecurityProperties props
+            OneInfraSecurityProperties props,
+            JwtDecoder jwtDecoder,
+            JwtAuthenticationCache jwtCache
     ) throws Exception {
 
         // ✅ read clientId from: oneinfra.security.keycloak.client-id
         String clientId = (props.getKeycloak() != null) ? props.getKeycloak().getClientId() : null;
-        var jwtAuthConverter = KeycloakJwtAuthConverter.build(clientId);
+        var jwtAuthConverter = KeycloakJwtAuthConverter.build(clientId, jwtCache);
 
         http
                 // ✅ IMPORTANT: Spring Security must enable CORS for browser preflight (OPTIONS)
@@ -44,6 +48,7 @@ public class SecurityConfig {
 
                         // Public endpoints
                         .requestMatchers("/k8s/health").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                         .requestMatchers(
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
@@ -57,7 +62,10 @@ public class SecurityConfig {
 
                 // ✅ Keycloak JWT resource server
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthConverter))
+                        .jwt(jwt -> jwt
+                                // verified tokens are reused until exp (oneinfra.security.jwt-cache)
+                                .decoder(jwtCache.decoder(jwtDecoder))
+                                .jwtAuthenticationConverter(jwtAuthConverter))
                 );
 
         return http.build();
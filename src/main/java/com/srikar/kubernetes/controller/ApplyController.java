@@ -0,0 +1,54 @@
+package com.srikar.kubernetes.controller;
+
+import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.ApplyResult;
+import com.srikar.kubernetes.service.ApplyService;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/k8s")
+public class ApplyController {
+
+    private final ApplyService apply;
+
+    public ApplyController(ApplyService apply) {
+        this.apply = apply;
+    }
+
+    /**
+     * Apply a multi-document YAML stream (objects separated by "---") to one namespace (WRITE)
+     * Objects are applied concurrently; one result per document, in request order.
+     * 200 when every object was applied, 207 (success=false) when at least one failed.
+     * Server-side apply: {@code force} takes over conflicting fields, {@code dryRun} persists nothing.
+     */
+    @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
+    @PostMapping(
+            value = {"/apply/{namespace}", "/clusters/{cluster}/apply/{namespace}"},
+            consumes = {"text/yaml", "application/yaml"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<ApiResponse<List<ApplyResult>>> apply(@PathVariable(required = false) String cluster,
+                                                                @PathVariable String namespace,
+                                                                @RequestParam(required = false) String fieldManager,
+                                                                @RequestParam(defaultValue = "false") boolean force,
+                                                                @RequestParam(defaultValue = "false") boolean dryRun,
+                                                                InputStream body) {
+        List<ApplyResult> results = apply.apply(cluster, namespace, body, new ApplyOptions(fieldManager, force, dryRun));
+
+        long failed = results.stream().filter(r -> r.getStatus() == ApplyResult.Status.FAILED).count();
+        if (failed == 0) {
+            return ResponseEntity.ok(ApiResponses.ok("Applied " + results.size() + " objects", results));
+        }
+        return ResponseEntity.status(HttpStatus.MULTI_STATUS)
+                .body(ApiResponses.fail(failed + " of " + results.size() + " objects failed", results));
+    }
+}
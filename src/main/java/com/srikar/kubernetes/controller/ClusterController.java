@@ -1,10 +1,16 @@
 package com.srikar.kubernetes.controller;
 
 import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.db.NodeFilter;
 import com.srikar.kubernetes.dto.ClusterDto;
+import com.srikar.kubernetes.dto.ClusterNodeDto;
+import com.srikar.kubernetes.dto.NodeObservationDto;
 import com.srikar.kubernetes.entity.ClusterEntity;
 import com.srikar.kubernetes.service.ClusterInventoryService;
+import com.srikar.kubernetes.service.NodeHistoryService;
 import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.Paging;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +25,7 @@ import java.util.Map;
 public class ClusterController {
 
     private final ClusterInventoryService inventory;
+    private final NodeHistoryService history;
 
     /**
      * WRITE operation
@@ -42,10 +49,20 @@ public class ClusterController {
      *
      * Standardized API response wrapper
      * (same response contract as Kafka microservice)
+     *
+     * With ?limit= / ?continue= : keyset page of clusters ordered by name, without nodes
+     * (next token returned as "continue"); nodes via /clusters/{clusterName}/nodes
      */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
     @GetMapping("/clusters")
-    public ResponseEntity<ApiResponse<List<ClusterDto>>> listClusters() {
+    public ResponseEntity<ApiResponse<List<ClusterDto>>> listClusters(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "continue", required = false) String continueToken) {
+
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<ClusterDto> page = inventory.pageClusters(limit, continueToken);
+            return ResponseEntity.ok(ApiResponses.page("Clusters fetched successfully", page));
+        }
 
         List<ClusterDto> clusters = inventory.getClusterDtos();
 
@@ -53,4 +70,48 @@ public class ClusterController {
                 ApiResponses.ok("Clusters fetched successfully", clusters)
         );
     }
+
+    /**
+     * READ operation
+     * Keyset-paged nodes of one cluster ordered by node name (default 100, max 1000 per page)
+     * Optional filters (pushed down to SQL): status, role, kubeVersion, controlPlane
+     */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping("/clusters/{clusterName}/nodes")
+    public ResponseEntity<ApiResponse<List<ClusterNodeDto>>> listNodes(
+            @PathVariable String clusterName,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String kubeVersion,
+            @RequestParam(required = false) Boolean controlPlane,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "continue", required = false) String continueToken) {
+
+        NodeFilter filter = new NodeFilter(status, role, kubeVersion, controlPlane);
+        Page<ClusterNodeDto> page = inventory.pageNodes(clusterName, filter, limit, continueToken);
+
+        return ResponseEntity.ok(
+                ApiResponses.page("Nodes fetched successfully", page)
+        );
+    }
+
+    /**
+     * READ operation
+     * Status / version / IP timeline of one node over the last {@code days}
+     * (consecutive identical observations collapsed unless changesOnly=false)
+     */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping("/clusters/{clusterName}/nodes/{nodeName}/history")
+    public ResponseEntity<ApiResponse<List<NodeObservationDto>>> nodeHistory(
+            @PathVariable String clusterName,
+            @PathVariable String nodeName,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "true") boolean changesOnly) {
+
+        List<NodeObservationDto> timeline = history.timeline(clusterName, nodeName, days, changesOnly);
+
+        return ResponseEntity.ok(
+                ApiResponses.ok("Node history fetched successfully", timeline)
+        );
+    }
 }
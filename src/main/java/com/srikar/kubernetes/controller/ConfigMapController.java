@@ -1,18 +1,28 @@
 package com.srikar.kubernetes.controller;
 
+import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.MediaTypes;
+import com.srikar.kubernetes.api.NdjsonStreamer;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.dto.ConfigMapDtos;
 import com.srikar.kubernetes.dto.ConfigMapDtos.ConfigMapDetail;
 import com.srikar.kubernetes.dto.ConfigMapDtos.UpsertConfigMap;
 import com.srikar.kubernetes.service.ConfigMapService;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.Paging;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
-import java.util.List;
 
 @Validated
 @RestController
@@ -20,37 +30,65 @@ import java.util.List;
 public class ConfigMapController {
 
     private final ConfigMapService cfg;
+    private final NdjsonStreamer ndjson;
 
-    public ConfigMapController(ConfigMapService cfg) {
+    public ConfigMapController(ConfigMapService cfg, NdjsonStreamer ndjson) {
         this.cfg = cfg;
+        this.ndjson = ndjson;
     }
 
     // READ: DEV/TEST/ADMIN
+    // With ?limit= / ?continue= the page is wrapped in the ApiResponse envelope
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/configmaps/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<ConfigMapDtos.ConfigMapSummary> list(@PathVariable String namespace) {
-        return cfg.list(namespace);
+    @GetMapping(value = {"/configmaps/{namespace}", "/clusters/{cluster}/configmaps/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public Object list(@PathVariable(required = false) String cluster,
+                       @PathVariable String namespace,
+                       @RequestParam(required = false) Integer limit,
+                       @RequestParam(name = "continue", required = false) String continueToken) {
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<ConfigMapDtos.ConfigMapSummary> page = cfg.list(cluster, namespace, limit, continueToken);
+            return ApiResponses.page("ConfigMaps fetched successfully", page);
+        }
+        return cfg.list(cluster, namespace);
     }
 
-    // READ: DEV/TEST/ADMIN
+    // READ: DEV/TEST/ADMIN (Accept: application/x-ndjson, one summary per line)
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/configmaps/{namespace}", "/clusters/{cluster}/configmaps/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listNdjson(@PathVariable(required = false) String cluster,
+                                                            @PathVariable String namespace) {
+        return ndjson.stream((limit, continueToken) -> cfg.list(cluster, namespace, limit, continueToken));
+    }
+
+    // READ: DEV/TEST/ADMIN; ETag = resourceVersion, If-None-Match answered with 304
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/configmaps/{namespace}/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ConfigMapDetail get(@PathVariable String namespace, @PathVariable String name) {
-        return cfg.get(namespace, name);
+    @GetMapping(value = {"/configmaps/{namespace}/{name}", "/clusters/{cluster}/configmaps/{namespace}/{name}"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ConfigMapDetail> get(@PathVariable(required = false) String cluster,
+                                               @PathVariable String namespace, @PathVariable String name) {
+        Versioned<ConfigMapDetail> detail = cfg.get(cluster, namespace, name);
+        return ResponseEntity.ok()
+                .eTag(detail.getResourceVersion())
+                .cacheControl(CacheControl.noCache())
+                .body(detail.getBody());
     }
 
     // WRITE: ADMIN only
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
     @PostMapping(
-            value = "/configmaps",
+            value = {"/configmaps", "/clusters/{cluster}/configmaps"},
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<ConfigMapDetail> upsert(@RequestBody @Valid UpsertConfigMap req) {
-        ConfigMapDetail detail = cfg.upsert(req);
+    public ResponseEntity<ConfigMapDetail> upsert(@PathVariable(required = false) String cluster,
+                                                  @RequestParam(required = false) String fieldManager,
+                                                  @RequestParam(defaultValue = "false") boolean force,
+                                                  @RequestParam(defaultValue = "false") boolean dryRun,
+                                                  @RequestBody @Valid UpsertConfigMap req) {
+        ConfigMapDetail detail = cfg.upsert(cluster, req, new ApplyOptions(fieldManager, force, dryRun));
 
         URI location = URI.create(String.format(
-                "/k8s/configmaps/%s/%s",
+                "%s/configmaps/%s/%s",
+                (cluster != null) ? "/k8s/clusters/" + cluster : "/k8s",
                 detail.getNamespace(),
                 detail.getName()
         ));
@@ -60,9 +98,23 @@ public class ConfigMapController {
 
     // WRITE: ADMIN only
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @DeleteMapping("/configmaps/{namespace}/{name}")
-    public ResponseEntity<Void> delete(@PathVariable String namespace, @PathVariable String name) {
-        cfg.delete(namespace, name);
+    @DeleteMapping({"/configmaps/{namespace}/{name}", "/clusters/{cluster}/configmaps/{namespace}/{name}"})
+    public ResponseEntity<Void> delete(@PathVariable(required = false) String cluster,
+                                       @PathVariable String namespace, @PathVariable String name) {
+        cfg.delete(cluster, namespace, name);
         return ResponseEntity.noContent().build();
     }
+
+    /** Delete all ConfigMaps matching ?selector= in one call; ?wait=true blocks until they are gone */
+    @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
+    @DeleteMapping(value = {"/configmaps/{namespace}", "/clusters/{cluster}/configmaps/{namespace}"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteBySelector(@PathVariable(required = false) String cluster,
+                                                                          @PathVariable String namespace,
+                                                                          @RequestParam String selector,
+                                                                          @RequestParam(required = false) String propagationPolicy,
+                                                                          @RequestParam(defaultValue = "false") boolean wait) {
+        BulkDeleteResult result = cfg.deleteBySelector(cluster, namespace, selector, propagationPolicy, wait);
+        return ResponseEntity.ok(ApiResponses.ok("Deleted " + result.getDeleted() + " configmaps", result));
+    }
 }
@@ -1,18 +1,28 @@
 package com.srikar.kubernetes.controller;
 
+import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.MediaTypes;
+import com.srikar.kubernetes.api.NdjsonStreamer;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.service.DeploymentService;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.Paging;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Map;
 
 @Validated
@@ -23,46 +33,70 @@ public class DeploymentController {
     private static final MediaType TEXT_YAML = MediaType.valueOf("text/yaml");
 
     private final DeploymentService svc;
+    private final NdjsonStreamer ndjson;
 
-    public DeploymentController(DeploymentService svc) {
+    public DeploymentController(DeploymentService svc, NdjsonStreamer ndjson) {
         this.svc = svc;
+        this.ndjson = ndjson;
     }
 
-    /** a) List all Deployments (READ) */
+    /** a) List all Deployments (READ); paged via ?limit=&continue= (ApiResponse envelope) */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/deployments/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<String> list(@PathVariable @NotBlank String namespace) {
-        return svc.list(namespace);
+    @GetMapping(value = {"/deployments/{namespace}", "/clusters/{cluster}/deployments/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public Object list(@PathVariable(required = false) String cluster,
+                       @PathVariable @NotBlank String namespace,
+                       @RequestParam(required = false) Integer limit,
+                       @RequestParam(name = "continue", required = false) String continueToken) {
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<String> page = svc.list(cluster, namespace, limit, continueToken);
+            return ApiResponses.page("Deployments fetched successfully", page);
+        }
+        return svc.list(cluster, namespace);
     }
 
-    /** b) Get deployment YAML (READ) */
+    /** a') Stream Deployment names as NDJSON (READ; Accept: application/x-ndjson) */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/deployments/{namespace}/{name}/yaml", produces = "text/yaml")
-    public ResponseEntity<String> getYaml(@PathVariable String namespace,
+    @GetMapping(value = {"/deployments/{namespace}", "/clusters/{cluster}/deployments/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listNdjson(@PathVariable(required = false) String cluster,
+                                                            @PathVariable @NotBlank String namespace) {
+        return ndjson.stream((limit, continueToken) -> svc.list(cluster, namespace, limit, continueToken));
+    }
+
+    /** b) Get deployment YAML (READ); ETag = resourceVersion, If-None-Match answered with 304 */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/deployments/{namespace}/{name}/yaml", "/clusters/{cluster}/deployments/{namespace}/{name}/yaml"}, produces = "text/yaml")
+    public ResponseEntity<String> getYaml(@PathVariable(required = false) String cluster,
+                                          @PathVariable String namespace,
                                           @PathVariable String name) {
-        String yaml = svc.getAsYaml(namespace, name);
+        Versioned<String> yaml = svc.getAsYaml(cluster, namespace, name);
         return ResponseEntity.ok()
+                .eTag(yaml.getResourceVersion())
+                .cacheControl(CacheControl.noCache())
                 .contentType(TEXT_YAML)
-                .body(yaml);
+                .body(yaml.getBody());
     }
 
     /** c) Create Deployment from YAML (WRITE) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
     @PostMapping(
-            value = "/deployments/{namespace}/yaml",
+            value = {"/deployments/{namespace}/yaml", "/clusters/{cluster}/deployments/{namespace}/yaml"},
             consumes = {"text/yaml", "application/yaml"},
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<Map<String, String>> create(@PathVariable String namespace,
+    public ResponseEntity<Map<String, String>> create(@PathVariable(required = false) String cluster,
+                                                      @PathVariable String namespace,
                                                       @RequestBody String yaml) {
-        Deployment created = svc.createFromYaml(namespace, yaml);
+        Deployment created = svc.createFromYaml(cluster, namespace, yaml);
 
         String createdName = created.getMetadata() != null ? created.getMetadata().getName() : null;
 
         URI loc = ServletUriComponentsBuilder
                 .fromCurrentRequestUri()
-                .replacePath("/k8s/deployments/{ns}/{name}/yaml")
-                .buildAndExpand(namespace, createdName)
+                .replacePath(cluster != null
+                        ? "/k8s/clusters/{cluster}/deployments/{ns}/{name}/yaml"
+                        : "/k8s/deployments/{ns}/{name}/yaml")
+                .buildAndExpand(cluster != null ? new Object[]{cluster, namespace, createdName}
+                        : new Object[]{namespace, createdName})
                 .toUri();
 
         Map<String, String> body = Map.of(
@@ -73,17 +107,22 @@ public class DeploymentController {
         return ResponseEntity.created(loc).body(body);
     }
 
-    /** d) Upsert Deployment from YAML (WRITE) */
+    /** d) Upsert Deployment from YAML via server-side apply (WRITE); dryRun=true persists nothing */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
     @PutMapping(
-            value = "/deployments/{namespace}/{name}/yaml",
+            value = {"/deployments/{namespace}/{name}/yaml", "/clusters/{cluster}/deployments/{namespace}/{name}/yaml"},
             consumes = {"text/yaml", "application/yaml"},
             produces = "text/yaml"
     )
-    public ResponseEntity<String> update(@PathVariable String namespace,
+    public ResponseEntity<String> update(@PathVariable(required = false) String cluster,
+                                         @PathVariable String namespace,
                                          @PathVariable String name,
+                                         @RequestParam(required = false) String fieldManager,
+                                         @RequestParam(defaultValue = "false") boolean force,
+                                         @RequestParam(defaultValue = "false") boolean dryRun,
                                          @RequestBody String yaml) {
-        Deployment updated = svc.upsertFromYaml(namespace, name, yaml);
+        Deployment updated = svc.upsertFromYaml(cluster, namespace, name, yaml,
+                new ApplyOptions(fieldManager, force, dryRun));
 
         return ResponseEntity.ok()
                 .contentType(TEXT_YAML)
@@ -92,11 +131,25 @@ public class DeploymentController {
 
     /** e) Delete Deployment (WRITE) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @DeleteMapping("/deployments/{namespace}/{name}")
-    public ResponseEntity<Void> delete(@PathVariable String namespace,
+    @DeleteMapping({"/deployments/{namespace}/{name}", "/clusters/{cluster}/deployments/{namespace}/{name}"})
+    public ResponseEntity<Void> delete(@PathVariable(required = false) String cluster,
+                                       @PathVariable String namespace,
                                        @PathVariable String name) {
-        boolean deleted = svc.delete(namespace, name);
+        boolean deleted = svc.delete(cluster, namespace, name);
         return deleted ? ResponseEntity.noContent().build()
                 : ResponseEntity.notFound().build();
     }
+
+    /** f) Delete all Deployments matching ?selector= in one call (WRITE); ?wait=true blocks until they are gone */
+    @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
+    @DeleteMapping(value = {"/deployments/{namespace}", "/clusters/{cluster}/deployments/{namespace}"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteBySelector(@PathVariable(required = false) String cluster,
+                                                                          @PathVariable String namespace,
+                                                                          @RequestParam String selector,
+                                                                          @RequestParam(required = false) String propagationPolicy,
+                                                                          @RequestParam(defaultValue = "false") boolean wait) {
+        BulkDeleteResult result = svc.deleteBySelector(cluster, namespace, selector, propagationPolicy, wait);
+        return ResponseEntity.ok(ApiResponses.ok("Deleted " + result.getDeleted() + " deployments", result));
+    }
 }
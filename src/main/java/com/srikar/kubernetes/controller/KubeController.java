@@ -1,6 +1,11 @@
 package com.srikar.kubernetes.controller;
 
 import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.MediaTypes;
+import com.srikar.kubernetes.api.NdjsonStreamer;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.cache.PodWatchHub;
+import com.srikar.kubernetes.dto.ClusterHealth;
 import com.srikar.kubernetes.dto.PodStatus;
 import com.srikar.kubernetes.service.KubeService;
 import com.srikar.kubernetes.utilities.ApiResponses;
@@ -9,6 +14,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +24,13 @@ import java.util.List;
 public class KubeController {
 
     private final KubeService kube;
+    private final NdjsonStreamer ndjson;
+    private final PodWatchHub podWatch;
 
-    public KubeController(KubeService kube) {
+    public KubeController(KubeService kube, NdjsonStreamer ndjson, PodWatchHub podWatch) {
         this.kube = kube;
+        this.ndjson = ndjson;
+        this.podWatch = podWatch;
     }
 
     /**
@@ -34,36 +45,74 @@ public class KubeController {
     /**
      * Kubernetes connectivity diagnostics
      * ADMIN only (infra visibility)
+     * Answers from the cached background probe; cheap enough for frequent LB checks.
      */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @GetMapping(value = "/diag", produces = MediaType.TEXT_PLAIN_VALUE)
-    public ResponseEntity<String> diag() {
-        if (kube.isHealthy()) {
+    @GetMapping(value = {"/diag", "/clusters/{cluster}/diag"}, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> diag(@PathVariable(required = false) String cluster) {
+        if (kube.health(cluster).isUp()) {
             return ResponseEntity.ok("cluster-ok");
         }
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body("cluster-unreachable");
     }
 
+    /**
+     * Probe state of every cluster with an active client (ADMIN only)
+     * State, last check time, probe latency and whether requests currently fail fast.
+     */
+    @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
+    @GetMapping(value = "/diag/clusters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<ClusterHealth>>> clusterHealth() {
+        return ResponseEntity.ok(ApiResponses.ok("Cluster health fetched successfully", kube.healthOfAll()));
+    }
+
     /**
      * List namespaces (READ)
      * Standardized API envelope (consistent with /k8s/clusters)
      */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/namespaces", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<String>>> namespaces() {
-        List<String> namespaces = kube.listNamespaces();
+    @GetMapping(value = {"/namespaces", "/clusters/{cluster}/namespaces"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<List<String>>> namespaces(@PathVariable(required = false) String cluster) {
+        List<String> namespaces = kube.listNamespaces(cluster);
         return ResponseEntity.ok(ApiResponses.ok("Namespaces fetched successfully", namespaces));
     }
 
     /**
      * List pods in a namespace (READ)
      * Standardized API envelope (consistent with /k8s/clusters)
+     * Optional paging: ?limit=&continue= (next token returned as "continue")
+     */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/pods/{namespace}", "/clusters/{cluster}/pods/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<List<PodStatus>>> pods(
+            @PathVariable(required = false) String cluster,
+            @PathVariable String namespace,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "continue", required = false) String continueToken) {
+        Page<PodStatus> pods = kube.listPods(cluster, namespace, limit, continueToken);
+        return ResponseEntity.ok(ApiResponses.page("Pods fetched successfully", pods));
+    }
+
+    /**
+     * Stream all pods in a namespace as NDJSON (READ)
+     * Selected with Accept: application/x-ndjson; one PodStatus per line
+     */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/pods/{namespace}", "/clusters/{cluster}/pods/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> podsNdjson(@PathVariable(required = false) String cluster,
+                                                            @PathVariable String namespace) {
+        return ndjson.stream((limit, continueToken) -> kube.listPods(cluster, namespace, limit, continueToken));
+    }
+
+    /**
+     * Watch pods in a namespace (READ) as Server-Sent Events
+     * First event "snapshot" (all pods), then ADDED / MODIFIED / DELETED with one PodStatus each.
+     * All clients share one upstream informer; slow clients are evicted and should reconnect.
      */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/pods/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<PodStatus>>> pods(@PathVariable String namespace) {
-        List<PodStatus> pods = kube.listPods(namespace);
-        return ResponseEntity.ok(ApiResponses.ok("Pods fetched successfully", pods));
+    @GetMapping(value = "/pods/{namespace}/watch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchPods(@PathVariable String namespace) {
+        return podWatch.subscribe(namespace);
     }
 }
@@ -1,12 +1,18 @@
 package com.srikar.kubernetes.controller;
 
+import com.srikar.kubernetes.api.MediaTypes;
+import com.srikar.kubernetes.api.NdjsonStreamer;
+import com.srikar.kubernetes.api.Page;
 import com.srikar.kubernetes.dto.IngressSummary;
 import com.srikar.kubernetes.dto.ServiceSummary;
 import com.srikar.kubernetes.service.KubeNetService;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.Paging;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,22 +22,62 @@ import java.util.List;
 public class KubeNetController {
 
     private final KubeNetService net;
+    private final NdjsonStreamer ndjson;
 
-    public KubeNetController(KubeNetService net) {
+    public KubeNetController(KubeNetService net, NdjsonStreamer ndjson) {
         this.net = net;
+        this.ndjson = ndjson;
     }
 
-    /** List Services in a namespace (ports include targetPort/NodePort). */
+    /**
+     * List Services in a namespace (ports include targetPort/NodePort).
+     * With ?limit= / ?continue= the page is wrapped in the ApiResponse envelope.
+     */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/services/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ServiceSummary>> services(@PathVariable String namespace) {
-        return ResponseEntity.ok(net.listServices(namespace));
+    @GetMapping(value = {"/services/{namespace}", "/clusters/{cluster}/services/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> services(@PathVariable(required = false) String cluster,
+                                      @PathVariable String namespace,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(name = "continue", required = false) String continueToken) {
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<ServiceSummary> page = net.listServices(cluster, namespace, limit, continueToken);
+            return ResponseEntity.ok(ApiResponses.page("Services fetched successfully", page));
+        }
+        List<ServiceSummary> services = net.listServices(cluster, namespace);
+        return ResponseEntity.ok(services);
     }
 
-    /** List Ingress objects in a namespace. */
+    /** Stream Services as NDJSON (Accept: application/x-ndjson). */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/ingress/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<IngressSummary>> ingress(@PathVariable String namespace) {
-        return ResponseEntity.ok(net.listIngress(namespace));
+    @GetMapping(value = {"/services/{namespace}", "/clusters/{cluster}/services/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> servicesNdjson(@PathVariable(required = false) String cluster,
+                                                                @PathVariable String namespace) {
+        return ndjson.stream((limit, continueToken) -> net.listServices(cluster, namespace, limit, continueToken));
+    }
+
+    /**
+     * List Ingress objects in a namespace.
+     * With ?limit= / ?continue= the page is wrapped in the ApiResponse envelope.
+     */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/ingress/{namespace}", "/clusters/{cluster}/ingress/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> ingress(@PathVariable(required = false) String cluster,
+                                     @PathVariable String namespace,
+                                     @RequestParam(required = false) Integer limit,
+                                     @RequestParam(name = "continue", required = false) String continueToken) {
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<IngressSummary> page = net.listIngress(cluster, namespace, limit, continueToken);
+            return ResponseEntity.ok(ApiResponses.page("Ingress fetched successfully", page));
+        }
+        List<IngressSummary> ingress = net.listIngress(cluster, namespace);
+        return ResponseEntity.ok(ingress);
+    }
+
+    /** Stream Ingress rows as NDJSON (Accept: application/x-ndjson). */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/ingress/{namespace}", "/clusters/{cluster}/ingress/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> ingressNdjson(@PathVariable(required = false) String cluster,
+                                                               @PathVariable String namespace) {
+        return ndjson.stream((limit, continueToken) -> net.listIngress(cluster, namespace, limit, continueToken));
     }
 }
@@ -1,13 +1,24 @@
 package com.srikar.kubernetes.controller;
 
+import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.MediaTypes;
+import com.srikar.kubernetes.api.NdjsonStreamer;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.dto.SecretDetail;
 import com.srikar.kubernetes.dto.SecretSummary;
 import com.srikar.kubernetes.dto.UpsertSecret;
 import com.srikar.kubernetes.service.SecretService;
+import com.srikar.kubernetes.utilities.ApiResponses;
+import com.srikar.kubernetes.utilities.Paging;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -21,34 +32,53 @@ public class SecretController {
     private static final MediaType TEXT_YAML = MediaType.valueOf("text/yaml");
 
     private final SecretService svc;
+    private final NdjsonStreamer ndjson;
 
-    public SecretController(SecretService svc) {
+    public SecretController(SecretService svc, NdjsonStreamer ndjson) {
         this.svc = svc;
+        this.ndjson = ndjson;
     }
 
-    /** List secrets (summary, no values). (READ) */
+    /** List secrets (summary, no values). (READ) Paged via ?limit=&continue= (ApiResponse envelope). */
     @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
-    @GetMapping(value = "/secrets/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<SecretSummary>> list(@PathVariable String namespace) {
-        return ResponseEntity.ok(svc.list(namespace));
+    @GetMapping(value = {"/secrets/{namespace}", "/clusters/{cluster}/secrets/{namespace}"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> list(@PathVariable(required = false) String cluster,
+                                  @PathVariable String namespace,
+                                  @RequestParam(required = false) Integer limit,
+                                  @RequestParam(name = "continue", required = false) String continueToken) {
+        if (Paging.isRequested(limit, continueToken)) {
+            Page<SecretSummary> page = svc.list(cluster, namespace, limit, continueToken);
+            return ResponseEntity.ok(ApiResponses.page("Secrets fetched successfully", page));
+        }
+        return ResponseEntity.ok(svc.list(cluster, namespace));
+    }
+
+    /** Stream secret summaries as NDJSON (Accept: application/x-ndjson). (READ) */
+    @PreAuthorize("hasAnyRole('KUBERNETES_ADMIN','KUBERNETES_DEV','KUBERNETES_TEST')")
+    @GetMapping(value = {"/secrets/{namespace}", "/clusters/{cluster}/secrets/{namespace}"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> listNdjson(@PathVariable(required = false) String cluster,
+                                                            @PathVariable String namespace) {
+        return ndjson.stream((limit, continueToken) -> svc.list(cluster, namespace, limit, continueToken));
     }
 
     /** Secret detail (plaintext values). (ADMIN only) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @GetMapping(value = "/secrets/{namespace}/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<SecretDetail> get(@PathVariable String namespace,
+    @GetMapping(value = {"/secrets/{namespace}/{name}", "/clusters/{cluster}/secrets/{namespace}/{name}"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SecretDetail> get(@PathVariable(required = false) String cluster,
+                                            @PathVariable String namespace,
                                             @PathVariable String name) {
-        SecretDetail d = svc.get(namespace, name);
+        SecretDetail d = svc.get(cluster, namespace, name);
         return (d != null) ? ResponseEntity.ok(d) : ResponseEntity.notFound().build();
     }
 
     /** Create from plaintext. (ADMIN only) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @PostMapping(value = "/secrets",
+    @PostMapping(value = {"/secrets", "/clusters/{cluster}/secrets"},
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<SecretDetail> create(@RequestBody UpsertSecret req) {
-        SecretDetail created = svc.create(req);
+    public ResponseEntity<SecretDetail> create(@PathVariable(required = false) String cluster,
+                                               @RequestBody UpsertSecret req) {
+        SecretDetail created = svc.create(cluster, req);
 
         URI loc = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -59,37 +89,59 @@ public class SecretController {
         return ResponseEntity.created(loc).body(created);
     }
 
-    /** Update from plaintext. (ADMIN only) */
+    /** Server-side apply from plaintext; creates the secret if missing. (ADMIN only) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @PutMapping(value = "/secrets/{namespace}/{name}",
+    @PutMapping(value = {"/secrets/{namespace}/{name}", "/clusters/{cluster}/secrets/{namespace}/{name}"},
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> update(@PathVariable String namespace,
+    public ResponseEntity<Map<String, Object>> update(@PathVariable(required = false) String cluster,
+                                                      @PathVariable String namespace,
                                                       @PathVariable String name,
+                                                      @RequestParam(required = false) String fieldManager,
+                                                      @RequestParam(defaultValue = "false") boolean force,
+                                                      @RequestParam(defaultValue = "false") boolean dryRun,
                                                       @RequestBody UpsertSecret req) {
-        boolean ok = svc.update(namespace, name, req);
-        return ok ? ResponseEntity.ok(Map.of("updated", true))
-                : ResponseEntity.notFound().build();
+        svc.update(cluster, namespace, name, req, new ApplyOptions(fieldManager, force, dryRun));
+        return ResponseEntity.ok(Map.of("updated", true, "dryRun", dryRun));
     }
 
     /** Delete. (ADMIN only) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @DeleteMapping("/secrets/{namespace}/{name}")
-    public ResponseEntity<Map<String, Object>> delete(@PathVariable String namespace,
+    @DeleteMapping({"/secrets/{namespace}/{name}", "/clusters/{cluster}/secrets/{namespace}/{name}"})
+    public ResponseEntity<Map<String, Object>> delete(@PathVariable(required = false) String cluster,
+                                                      @PathVariable String namespace,
                                                       @PathVariable String name) {
-        boolean ok = svc.delete(namespace, name);
+        boolean ok = svc.delete(cluster, namespace, name);
         return ok ? ResponseEntity.ok(Map.of("deleted", true))
                 : ResponseEntity.notFound().build();
     }
 
-    /** Download as YAML (values base64). (ADMIN only) */
+    /** Download as YAML (values base64); ETag = resourceVersion, If-None-Match answered with 304. (ADMIN only) */
     @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
-    @GetMapping(value = "/secrets/{namespace}/{name}/yaml", produces = "text/yaml")
-    public ResponseEntity<String> yaml(@PathVariable String namespace,
+    @GetMapping(value = {"/secrets/{namespace}/{name}/yaml", "/clusters/{cluster}/secrets/{namespace}/{name}/yaml"}, produces = "text/yaml")
+    public ResponseEntity<String> yaml(@PathVariable(required = false) String cluster,
+                                       @PathVariable String namespace,
                                        @PathVariable String name) {
-        String y = svc.asYaml(namespace, name);
-        return (y != null)
-                ? ResponseEntity.ok().contentType(TEXT_YAML).body(y)
-                : ResponseEntity.notFound().build();
+        Versioned<String> y = svc.asYaml(cluster, namespace, name);
+        if (y == null) return ResponseEntity.notFound().build();
+
+        return ResponseEntity.ok()
+                .eTag(y.getResourceVersion())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_YAML)
+                .body(y.getBody());
+    }
+
+    /** Delete all secrets matching ?selector= in one call; ?wait=true blocks until they are gone. (ADMIN only) */
+    @PreAuthorize("hasRole('KUBERNETES_ADMIN')")
+    @DeleteMapping(value = {"/secrets/{namespace}", "/clusters/{cluster}/secrets/{namespace}"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteBySelector(@PathVariable(required = false) String cluster,
+                                                                          @PathVariable String namespace,
+                                                                          @RequestParam String selector,
+                                                                          @RequestParam(required = false) String propagationPolicy,
+                                                                          @RequestParam(defaultValue = "false") boolean wait) {
+        BulkDeleteResult result = svc.deleteBySelector(cluster, namespace, selector, propagationPolicy, wait);
+        return ResponseEntity.ok(ApiResponses.ok("Deleted " + result.getDeleted() + " secrets", result));
     }
 }
@@ -2,12 +2,27 @@ package com.srikar.kubernetes.db;
 
 import com.srikar.kubernetes.entity.ClusterNodeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClusterNodeRepository extends JpaRepository<ClusterNodeEntity, UUID> {
 
+    List<ClusterNodeEntity> findByClusterId(UUID clusterId);
+
+    /** Single DELETE statement (a derived delete would load and remove rows one by one). */
     @Transactional
-    void deleteByClusterId(UUID clusterId);
+    @Modifying
+    @Query("delete from ClusterNodeEntity n where n.cluster.id = :clusterId")
+    int deleteByClusterId(@Param("clusterId") UUID clusterId);
+
+    /** Mark every node of a cluster as seen, in one UPDATE. Pending changes are flushed first. */
+    @Modifying(flushAutomatically = true)
+    @Query("update ClusterNodeEntity n set n.observedAt = :observedAt where n.cluster.id = :clusterId")
+    int touchObservedAt(@Param("clusterId") UUID clusterId, @Param("observedAt") Instant observedAt);
 }
@@ -0,0 +1,28 @@
+package com.srikar.kubernetes.db;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat cluster × node row read by {@link ClusterRepository#findAllClusterNodeRows()}.
+ * Node columns are null for a cluster without nodes (left join).
+ */
+public record ClusterNodeRow(
+        UUID clusterId,
+        String clusterName,
+        Instant clusterCreatedAt,
+        Instant clusterUpdatedAt,
+        UUID nodeId,
+        String nodeName,
+        String status,
+        String roles,
+        String kubeVersion,
+        InetAddress internalIp,
+        InetAddress externalIp,
+        Boolean isControlPlane,
+        Boolean isVm,
+        String vmName,
+        Instant observedAt
+) {
+}
@@ -15,10 +15,18 @@ public interface ClusterRepository extends JpaRepository<ClusterEntity, UUID> {
     Optional<ClusterEntity> findByName(String name);
 
     /**
-     * Load clusters along with their nodes in a single query
-     * to avoid LazyInitializationException during JSON serialization.
+     * Every cluster with its nodes (one row per node; node columns null for a cluster without
+     * nodes) as a constructor projection: only the columns the DTOs need, no managed entities
+     * or dirty-checking snapshots.
      */
-    @Query("select distinct c from ClusterEntity c left join fetch c.nodes")
-    List<ClusterEntity> findAllWithNodes();
+    @Query("""
+            select new com.srikar.kubernetes.db.ClusterNodeRow(
+                   c.id, c.name, c.createdAt, c.updatedAt,
+                   n.id, n.nodeName, n.status, n.roles, n.kubeVersion, n.internalIp, n.externalIp,
+                   n.isControlPlane, n.isVm, n.vmName, n.observedAt)
+              from ClusterEntity c left join c.nodes n
+             order by c.name, n.nodeName
+            """)
+    List<ClusterNodeRow> findAllClusterNodeRows();
 
 }
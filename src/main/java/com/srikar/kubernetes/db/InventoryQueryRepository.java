@@ -0,0 +1,102 @@
+package com.srikar.kubernetes.db;
+
+import com.srikar.kubernetes.entity.ClusterEntity;
+import com.srikar.kubernetes.utilities.Paging.Keyset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated inventory reads.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Rows are ordered by (name, id); a page starts strictly after the last (name, id)
+ *       of the previous one, so page N costs the same as page 1 (no OFFSET scan)</li>
+ *   <li>Only the filters actually given become predicates, so each combination maps to
+ *       a composite index (db/003_cluster_nodes_inventory_indexes.sql)</li>
+ *   <li>One row more than requested is read to know whether another page exists</li>
+ * </ul>
+ */
+@Repository
+public class InventoryQueryRepository {
+
+    private final EntityManager em;
+
+    public InventoryQueryRepository(EntityManager em) {
+        this.em = em;
+    }
+
+    /** Clusters ordered by (name, id), without nodes; up to {@code limit + 1} rows. */
+    public List<ClusterEntity> findClusters(Keyset after, int limit) {
+        StringBuilder jpql = new StringBuilder("select c from ClusterEntity c");
+        if (after != null) {
+            jpql.append(" where c.name > :afterName or (c.name = :afterName and c.id > :afterId)");
+        }
+        jpql.append(" order by c.name, c.id");
+
+        TypedQuery<ClusterEntity> q = em.createQuery(jpql.toString(), ClusterEntity.class)
+                .setMaxResults(limit + 1)
+                .setHint("org.hibernate.readOnly", true);
+        if (after != null) {
+            q.setParameter("afterName", after.name()).setParameter("afterId", after.id());
+        }
+        return q.getResultList();
+    }
+
+    /** Nodes of one cluster ordered by (node name, id), filtered; up to {@code limit + 1} rows. */
+    public List<ClusterNodeRow> findNodes(UUID clusterId, NodeFilter filter, Keyset after, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.srikar.kubernetes.db.ClusterNodeRow(
+                       c.id, c.name, c.createdAt, c.updatedAt,
+                       n.id, n.nodeName, n.status, n.roles, n.kubeVersion, n.internalIp, n.externalIp,
+                       n.isControlPlane, n.isVm, n.vmName, n.observedAt)
+                  from ClusterNodeEntity n join n.cluster c
+                 where c.id = :clusterId""");
+        Map<String, Object> params = new HashMap<>();
+        params.put("clusterId", clusterId);
+
+        if (filter.status() != null) {
+            jpql.append(" and n.status = :status");
+            params.put("status", filter.status());
+        }
+        if (filter.kubeVersion() != null) {
+            jpql.append(" and n.kubeVersion = :kubeVersion");
+            params.put("kubeVersion", filter.kubeVersion());
+        }
+        if (filter.controlPlane() != null) {
+            jpql.append(" and n.isControlPlane = :controlPlane");
+            params.put("controlPlane", filter.controlPlane());
+        }
+        if (filter.role() != null) {
+            // roles is a comma separated list; match whole entries only
+            jpql.append(" and (n.roles = :role or n.roles like :rolePrefix"
+                    + " or n.roles like :roleSuffix or n.roles like :roleInfix)");
+            String role = escapeLike(filter.role());
+            params.put("role", filter.role());
+            params.put("rolePrefix", role + ",%");
+            params.put("roleSuffix", "%," + role);
+            params.put("roleInfix", "%," + role + ",%");
+        }
+        if (after != null) {
+            jpql.append(" and (n.nodeName > :afterName or (n.nodeName = :afterName and n.id > :afterId))");
+            params.put("afterName", after.name());
+            params.put("afterId", after.id());
+        }
+        jpql.append(" order by n.nodeName, n.id");
+
+        TypedQuery<ClusterNodeRow> q = em.createQuery(jpql.toString(), ClusterNodeRow.class)
+                .setMaxResults(limit + 1);
+        params.forEach(q::setParameter);
+        return q.getResultList();
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
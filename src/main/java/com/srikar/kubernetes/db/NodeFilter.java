@@ -0,0 +1,9 @@
+package com.srikar.kubernetes.db;
+
+/**
+ * Optional node filters of the inventory API; null fields do not filter.
+ *
+ * @param role one entry of the comma separated roles column (e.g. "worker")
+ */
+public record NodeFilter(String status, String role, String kubeVersion, Boolean controlPlane) {
+}
@@ -0,0 +1,140 @@
+package com.srikar.kubernetes.db;
+
+import com.srikar.kubernetes.dto.NodeObservationDto;
+import com.srikar.kubernetes.entity.ClusterNodeEntity;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to the partitioned, append-only {@code cluster_node_observations} table.
+ *
+ * Not a JPA repository on purpose: rows are never updated, and ingestion goes through
+ * PostgreSQL COPY (one round trip per refresh) instead of one persist per row.
+ */
+@Repository
+public class NodeObservationRepository {
+
+    public static final String TABLE = "iaas_kubernetes.cluster_node_observations";
+    private static final String PARTITION_PREFIX = "cluster_node_observations_p";
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String COPY_SQL = "COPY " + TABLE
+            + " (cluster_id, node_name, observed_at, status, kube_version, internal_ip, external_ip,"
+            + " os_image, kernel_version, container_runtime) FROM STDIN";
+
+    private final JdbcTemplate jdbc;
+
+    public NodeObservationRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Append one observation per node; runs in the caller's transaction. */
+    public long copyIn(UUID clusterId, List<ClusterNodeEntity> nodes, Instant observedAt) {
+        if (nodes.isEmpty()) return 0;
+
+        StringBuilder buf = new StringBuilder(nodes.size() * 160);
+        String cluster = clusterId.toString();
+        String at = observedAt.toString();
+        for (ClusterNodeEntity n : nodes) {
+            buf.append(cluster).append('\t');
+            field(buf, n.getNodeName()).append('\t');
+            buf.append(at).append('\t');
+            field(buf, n.getStatus()).append('\t');
+            field(buf, n.getKubeVersion()).append('\t');
+            field(buf, ip(n.getInternalIp())).append('\t');
+            field(buf, ip(n.getExternalIp())).append('\t');
+            field(buf, n.getOsImage()).append('\t');
+            field(buf, n.getKernelVersion()).append('\t');
+            field(buf, n.getContainerRuntime()).append('\n');
+        }
+
+        Long rows = jdbc.execute((ConnectionCallback<Long>) con ->
+                con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(buf.toString())));
+        return (rows != null) ? rows : 0;
+    }
+
+    /** Observations of one node in [from, to), oldest first (index-only scan). */
+    public List<NodeObservationDto> findTimeline(UUID clusterId, String nodeName, Instant from, Instant to) {
+        return jdbc.query("""
+                        select observed_at, status, kube_version, host(internal_ip) as internal_ip,
+                               host(external_ip) as external_ip
+                          from %s
+                         where cluster_id = ? and node_name = ? and observed_at >= ? and observed_at < ?
+                         order by observed_at
+                        """.formatted(TABLE),
+                (rs, i) -> NodeObservationDto.builder()
+                        .observedAt(rs.getTimestamp("observed_at").toInstant())
+                        .status(rs.getString("status"))
+                        .kubeVersion(rs.getString("kube_version"))
+                        .internalIp(rs.getString("internal_ip"))
+                        .externalIp(rs.getString("external_ip"))
+                        .build(),
+                clusterId, nodeName, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Create the partition holding one UTC day (no-op if it exists).
+     * Must run in a transaction: concurrent {@code CREATE TABLE IF NOT EXISTS ... PARTITION OF}
+     * is not race-safe, so creators (maintenance, refreshes, other instances) are serialized
+     * on a transaction-scoped advisory lock.
+     */
+    public void createPartition(LocalDate day) {
+        jdbc.queryForObject("select pg_advisory_xact_lock(hashtext(?))", Object.class, TABLE);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS iaas_kubernetes." + PARTITION_PREFIX + PARTITION_DAY.format(day)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + day.atStartOfDay(ZoneOffset.UTC).toInstant()
+                + "') TO ('" + day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() + "')");
+    }
+
+    /** UTC days of the existing partitions. */
+    public List<LocalDate> listPartitionDays() {
+        return jdbc.queryForList("""
+                        select c.relname
+                          from pg_inherits i
+                          join pg_class c on c.oid = i.inhrelid
+                          join pg_class p on p.oid = i.inhparent
+                          join pg_namespace n on n.oid = p.relnamespace
+                         where n.nspname = 'iaas_kubernetes' and p.relname = 'cluster_node_observations'
+                        """, String.class).stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_DAY))
+                .toList();
+    }
+
+    public void dropPartition(LocalDate day) {
+        jdbc.execute("DROP TABLE IF EXISTS iaas_kubernetes." + PARTITION_PREFIX + PARTITION_DAY.format(day));
+    }
+
+    // ---- COPY text format -----------------------------------------------------
+
+    private static StringBuilder field(StringBuilder buf, String v) {
+        if (v == null) return buf.append("\\N");
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '\\' -> buf.append("\\\\");
+                case '\t' -> buf.append("\\t");
+                case '\n' -> buf.append("\\n");
+                case '\r' -> buf.append("\\r");
+                default -> buf.append(c);
+            }
+        }
+        return buf;
+    }
+
+    private static String ip(InetAddress a) {
+        return (a != null) ? a.getHostAddress() : null;
+    }
+}
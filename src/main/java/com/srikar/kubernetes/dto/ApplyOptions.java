@@ -0,0 +1,15 @@
+package com.srikar.kubernetes.dto;
+
+/**
+ * Server-side apply settings of one write request.
+ *
+ * @param fieldManager owner recorded in managedFields; null → oneinfra.api.apply.field-manager
+ * @param force        take over fields owned by another manager instead of failing with 409
+ * @param dryRun       validate and compute the result on the server without persisting it
+ */
+public record ApplyOptions(String fieldManager, boolean force, boolean dryRun) {
+
+    public static ApplyOptions defaults() {
+        return new ApplyOptions(null, false, false);
+    }
+}
@@ -0,0 +1,22 @@
+package com.srikar.kubernetes.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+/** Outcome of one document of a multi-document YAML apply. */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApplyResult {
+
+    public enum Status { APPLIED, FAILED }
+
+    /** 0-based position of the document in the request body */
+    int index;
+    String apiVersion;
+    String kind;
+    String name;
+    Status status;
+    String error;
+}
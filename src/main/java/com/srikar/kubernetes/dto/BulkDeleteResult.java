@@ -0,0 +1,26 @@
+package com.srikar.kubernetes.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/** Outcome of one label-selector delete (deletecollection) of a kind in a namespace. */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkDeleteResult {
+
+    String kind;
+    String namespace;
+    String selector;
+    String propagationPolicy;
+
+    /** Objects the API server accepted for deletion */
+    int deleted;
+    List<String> names;
+
+    /** Only set when waited: true once no object matches the selector, false on timeout */
+    Boolean gone;
+}
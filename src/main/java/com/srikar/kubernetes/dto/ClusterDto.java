@@ -1,5 +1,6 @@
 package com.srikar.kubernetes.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Value;
 
@@ -14,5 +15,7 @@ public class ClusterDto {
     String name;
     Instant createdAt;
     Instant updatedAt;
+    /** null (omitted) in paged cluster lists; nodes are paged via /k8s/clusters/{name}/nodes */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     List<ClusterNodeDto> nodes;
 }
@@ -0,0 +1,27 @@
+package com.srikar.kubernetes.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/** Last background probe result of one cluster (see ClusterHealthProber). */
+@Value
+@Builder
+public class ClusterHealth {
+
+    public enum State { UP, DOWN }
+
+    String cluster;
+    State state;
+    Instant checkedAt;
+    long latencyMillis;
+    int consecutiveFailures;
+    String error;
+    /** true while requests to this cluster are rejected without contacting it */
+    boolean circuitOpen;
+
+    public boolean isUp() {
+        return state == State.UP;
+    }
+}
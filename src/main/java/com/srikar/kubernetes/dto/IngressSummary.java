@@ -1,12 +1,15 @@
 package com.srikar.kubernetes.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.srikar.kubernetes.utilities.Helper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.List;
 
 @Getter
@@ -29,4 +32,11 @@ public class IngressSummary {
 
     private String age;
 
+    @JsonIgnore
+    private Instant createdAt;  // cached rows: age is derived from this at serialization time
+
+    public String getAge() {
+        return (createdAt != null) ? Helper.fmtAge(createdAt) : age;
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.srikar.kubernetes.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class NodeObservationDto {
+    Instant observedAt;
+    String status;
+    String kubeVersion;
+    String internalIp;
+    String externalIp;
+}
@@ -1,11 +1,10 @@
 package com.srikar.kubernetes.dto;
 
 import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.utilities.Helper;
 import io.fabric8.kubernetes.api.model.Pod;
 
 import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
 
 public final class PodMapper {
 
@@ -25,21 +24,8 @@ public final class PodMapper {
         String podIP     = status != null ? status.getPodIP() : null;
 
         String startTimeStr = (status != null) ? status.getStartTime() : null;
-        Instant startTime = parseToInstant(startTimeStr);
+        Instant startTime = Helper.parseToInstant(startTimeStr);
 
         return new PodStatus(name, namespace, phase, nodeName, podIP, startTime);
     }
-
-    private static Instant parseToInstant(String rfc3339) {
-        if (rfc3339 == null || rfc3339.isBlank()) return null;
-        try {
-            return OffsetDateTime.parse(rfc3339).toInstant();
-        } catch (DateTimeParseException e) {
-            try {
-                return Instant.parse(rfc3339);
-            } catch (DateTimeParseException ignored) {
-                return null;
-            }
-        }
-    }
 }
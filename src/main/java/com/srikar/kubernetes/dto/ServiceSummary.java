@@ -1,11 +1,15 @@
 package com.srikar.kubernetes.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.srikar.kubernetes.utilities.Helper;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @Builder
@@ -19,4 +23,11 @@ public class ServiceSummary {
     private String ports;   // e.g. "9009/TCP → 9009 • NodePort 30909"
     private String age;
 
+    @JsonIgnore
+    private Instant createdAt;  // cached rows: age is derived from this at serialization time
+
+    public String getAge() {
+        return (createdAt != null) ? Helper.fmtAge(createdAt) : age;
+    }
+
 }
@@ -36,6 +36,15 @@ public class ClusterEntity {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Connection settings (both optional; rows without them use the default client)
+    // kubeconfig context of this service's kubeconfig to connect with
+    @Column(name = "kube_context", length = 200)
+    private String kubeContext;
+
+    // Overrides the API server URL of the context (or of the ambient config)
+    @Column(name = "api_server_url", length = 500)
+    private String apiServerUrl;
+
     @OneToMany(mappedBy = "cluster", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ClusterNodeEntity> nodes = new ArrayList<>();
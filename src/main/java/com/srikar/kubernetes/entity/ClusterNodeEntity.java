@@ -2,6 +2,7 @@ package com.srikar.kubernetes.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.net.InetAddress;
 import java.time.Instant;
@@ -18,10 +19,15 @@ import java.util.UUID;
         schema = "iaas_kubernetes",
         indexes = {
                 @Index(name = "ix_cluster_nodes_cluster_id", columnList = "cluster_id"),
-                @Index(name = "ix_cluster_nodes_node_name", columnList = "node_name")
+                @Index(name = "ix_cluster_nodes_node_name", columnList = "node_name"),
+                // keyset paging (+ filters) of the inventory API, db/003_cluster_nodes_inventory_indexes.sql
+                @Index(name = "ix_cluster_nodes_cluster_name_id", columnList = "cluster_id, node_name, id"),
+                @Index(name = "ix_cluster_nodes_cluster_status", columnList = "cluster_id, status, node_name, id"),
+                @Index(name = "ix_cluster_nodes_cluster_version", columnList = "cluster_id, kube_version, node_name, id"),
+                @Index(name = "ix_cluster_nodes_cluster_cp", columnList = "cluster_id, is_control_plane, node_name, id")
         }
 )
-public class ClusterNodeEntity {
+public class ClusterNodeEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", nullable = false)
@@ -71,4 +77,21 @@ public class ClusterNodeEntity {
 
     @Column(name = "observed_at")
     private Instant observedAt;
+
+    // Ids are assigned (random UUID), so Spring Data cannot tell new rows from existing ones
+    // by a null id; without this, save() would issue a SELECT (merge) before every INSERT.
+    @Transient
+    @Builder.Default
+    private boolean newRow = true;
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.newRow = false;
+    }
 }
@@ -0,0 +1,81 @@
+package com.srikar.kubernetes.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "oneinfra.api")
+public class OneInfraApiProperties {
+
+    private Stream stream = new Stream();
+    private Watch watch = new Watch();
+    private Apply apply = new Apply();
+    private Delete delete = new Delete();
+
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /** Items fetched from the API server per chunk while streaming NDJSON. */
+        private int pageSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Watch {
+
+        /** Pending events per SSE client; a client that falls this far behind is evicted. */
+        private int bufferSize = 256;
+
+        /** Interval of SSE heartbeat comments (keeps proxies from closing idle streams). */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /** Max lifetime of one SSE stream; clients reconnect and get a fresh snapshot. */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /** A client whose pending write has not completed for this long is evicted. */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+    }
+
+    /** Server-side apply writes, incl. POST /k8s/apply/{namespace} (multi-document YAML). */
+    @Getter
+    @Setter
+    public static class Apply {
+
+        /** Objects of one request applied concurrently. */
+        private int parallelism = 8;
+
+        /** Worker threads shared by all apply requests. */
+        private int threads = 16;
+
+        /** Documents accepted per request; parsing stops at the next one, which is reported FAILED. */
+        private int maxDocuments = 1000;
+
+        /** Server-side apply field manager of all writes, unless a request names its own. */
+        private String fieldManager = "oneinfra";
+
+        /**
+         * Update-operation managers of objects written before server-side apply (createOrReplace
+         * PUT, POST create); replace endpoints take over their data/labels once so removed keys
+         * are deleted. Empty disables the migration.
+         */
+        private List<String> legacyManagers = List.of("fabric8-kubernetes-client");
+    }
+
+    /** Label-selector bulk deletes (DELETE /k8s/{kind}/{namespace}?selector=). */
+    @Getter
+    @Setter
+    public static class Delete {
+
+        /** Upper bound of ?wait=true; the response then reports gone=false. */
+        private Duration waitTimeout = Duration.ofSeconds(60);
+
+        /** Interval of the "anything left?" LIST while waiting. */
+        private Duration pollInterval = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,49 @@
+package com.srikar.kubernetes.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "oneinfra.cache")
+public class OneInfraCacheProperties {
+
+    private Informer pods = new Informer();
+    private Informer services = new Informer();
+    private Informer ingresses = new Informer();
+    private Yaml yaml = new Yaml();
+    private Coalesce coalesce = new Coalesce();
+
+    /** Settings for one shared informer (one LIST + WATCH across all namespaces). */
+    @Getter
+    @Setter
+    public static class Informer {
+
+        /** When false, reads always go to the API server (live LIST). */
+        private boolean enabled = true;
+
+        /** Full resync period of the informer store; 0 disables resync. */
+        private Duration resync = Duration.ofMinutes(10);
+    }
+
+    /** Rendered YAML of GET .../yaml endpoints, keyed by uid + resourceVersion. */
+    @Getter
+    @Setter
+    public static class Yaml {
+
+        /** Documents kept (least recently used are dropped first). */
+        private int maxEntries = 1000;
+    }
+
+    /** Single-flight of identical concurrent reads (cluster, kind, namespace, selector). */
+    @Getter
+    @Setter
+    public static class Coalesce {
+
+        /** When false, every request makes its own upstream call. */
+        private boolean enabled = true;
+    }
+}
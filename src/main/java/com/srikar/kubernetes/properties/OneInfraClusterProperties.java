@@ -0,0 +1,141 @@
+package com.srikar.kubernetes.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "oneinfra.clusters")
+public class OneInfraClusterProperties {
+
+    /**
+     * Name under which the ambient cluster (in-cluster config / ~/.kube/config) is addressed.
+     * Requests without a {cluster} path segment use it as well.
+     */
+    private String defaultName = "default";
+
+    /** Per-cluster clients unused for this long are closed (rebuilt on next use). */
+    private Duration idleTimeout = Duration.ofMinutes(15);
+
+    /** GET /k8s/clusters result is cached this long (and dropped on every inventory commit). */
+    private Duration listCacheTtl = Duration.ofSeconds(30);
+
+    private Http http = new Http();
+    private Probe probe = new Probe();
+    private Refresh refresh = new Refresh();
+    private History history = new History();
+    private RateLimit rateLimit = new RateLimit();
+
+    /** Connection pool shared by all cluster clients; request limits apply per client. */
+    @Getter
+    @Setter
+    public static class Http {
+        private int maxRequests = 256;
+        private int maxRequestsPerHost = 64;
+        private int maxIdleConnections = 32;
+        private Duration keepAlive = Duration.ofMinutes(5);
+    }
+
+    /** Background health probe + circuit breaker. */
+    @Getter
+    @Setter
+    public static class Probe {
+
+        /** Cheap API server endpoint; /readyz and /version are readable without RBAC grants. */
+        private String path = "/readyz";
+
+        /** Delay between probe rounds (read by @Scheduled, hence millis). */
+        private long intervalMillis = 15000;
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        /** Consecutive failed probes after which requests to the cluster fail fast. */
+        private int failureThreshold = 3;
+    }
+
+    /** Background node inventory refresh of every registered cluster. */
+    @Getter
+    @Setter
+    public static class Refresh {
+
+        private boolean enabled = true;
+
+        /** Target period between two refreshes of the same cluster. */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /** Each period is randomized by ± this fraction so clusters do not refresh in lockstep. */
+        private double jitter = 0.2;
+
+        /** A refresh still running after this long is interrupted and counted as a timeout. */
+        private Duration timeout = Duration.ofSeconds(60);
+
+        /** Max clusters refreshed at the same time. */
+        private int parallelism = 4;
+
+        /** How often due clusters are looked for (read by @Scheduled, hence millis). */
+        private long tickMillis = 5000;
+    }
+
+    /** Append-only node history (cluster_node_observations, one partition per day). */
+    @Getter
+    @Setter
+    public static class History {
+
+        private boolean enabled = true;
+
+        /** Partitions entirely older than this are dropped. */
+        private Duration retention = Duration.ofDays(30);
+
+        /** Daily partitions created ahead of today. */
+        private int partitionsAhead = 2;
+
+        /** How often partitions are created / dropped (read by @Scheduled, hence millis). */
+        private long maintenanceMillis = 3600000;
+    }
+
+    /** Client-side QPS limit and per-lane bulkhead, applied per cluster. */
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /** Sustained API calls per second to one cluster (all lanes together). */
+        private double qps = 50;
+
+        /** Calls allowed above qps after an idle period. */
+        private int burst = 100;
+
+        /** Reads a user is waiting for. */
+        private LaneLimits interactive = new LaneLimits(32, Duration.ofSeconds(2));
+
+        /** Creates, applies and deletes (YAML apply fans out into this lane). */
+        private LaneLimits write = new LaneLimits(8, Duration.ofSeconds(10));
+
+        /** Scheduled jobs such as the inventory refresh. */
+        private LaneLimits background = new LaneLimits(2, Duration.ofSeconds(30));
+    }
+
+    /** Limits of one priority lane of one cluster. */
+    @Getter
+    @Setter
+    public static class LaneLimits {
+
+        /** Calls of this lane running at the same time. */
+        private int concurrency;
+
+        /** Longest a call waits for a slot and a token before it is rejected with 429. */
+        private Duration maxWait;
+
+        public LaneLimits() {
+        }
+
+        public LaneLimits(int concurrency, Duration maxWait) {
+            this.concurrency = concurrency;
+            this.maxWait = maxWait;
+        }
+    }
+}
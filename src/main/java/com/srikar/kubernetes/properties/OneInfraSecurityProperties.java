@@ -4,16 +4,68 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "oneinfra.security")
 public class OneInfraSecurityProperties {
 
     private Keycloak keycloak = new Keycloak();
+    private JwtCache jwtCache = new JwtCache();
+    private Jwks jwks = new Jwks();
 
     @Getter
     @Setter
     public static class Keycloak {
         private String clientId;
     }
+
+    /** Verified JWTs + mapped authorities, reused while the same bearer token is presented. */
+    @Getter
+    @Setter
+    public static class JwtCache {
+
+        private boolean enabled = true;
+
+        /** Tokens kept (least recently used are dropped first). */
+        private int maxEntries = 10_000;
+
+        /** Upper bound per entry, even when the token's exp is later. */
+        private Duration maxTtl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Signing keys for JWT verification (issuer-uri / jwk-set-uri of
+     * spring.security.oauth2.resourceserver.jwt).
+     */
+    @Getter
+    @Setter
+    public static class Jwks {
+
+        /**
+         * true: start without contacting the issuer; keys come from the disk cache and a
+         * background fetch. false: Spring Boot's issuer-uri decoder (discovery on first use).
+         */
+        private boolean background = false;
+
+        /**
+         * Public keys of the last successful fetch, loaded on the next start; blank (default)
+         * disables. Use a directory owned by the service user: the file is ignored unless it and
+         * its directory are owned by that user and not group/other-writable.
+         */
+        private String cacheFile;
+
+        /** Periodic re-fetch; picks up keys published ahead of a rotation. */
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /** Connect + request timeout of discovery and JWKS calls. */
+        private Duration fetchTimeout = Duration.ofSeconds(5);
+
+        /** How long a request with an unknown key id waits for the fetch it triggered. */
+        private Duration missWait = Duration.ofSeconds(2);
+
+        /** Minimum time between fetches triggered by unknown key ids. */
+        private Duration minRefreshGap = Duration.ofSeconds(30);
+    }
 }
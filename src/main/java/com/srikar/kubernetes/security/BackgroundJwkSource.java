@@ -0,0 +1,269 @@
+package com.srikar.kubernetes.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import com.srikar.kubernetes.utilities.Threads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWK source that never contacts the issuer on the startup path.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>{@link #start()} loads the keys persisted by the previous run (local file, no network)
+ *       and schedules the first fetch in the background</li>
+ *   <li>The JWKS URL comes from {@code jwk-set-uri}, or from OIDC discovery of the issuer,
+ *       which then also runs in the background</li>
+ *   <li>Keys are re-fetched every refresh-interval, so keys the IdP publishes ahead of a
+ *       rotation are in memory before the first token signed with them arrives</li>
+ *   <li>Each successful fetch replaces the in-memory set and is written to the cache file
+ *       (public keys only)</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>Verification is served from memory; a token whose key is unknown (unplanned rotation,
+ *       or no keys yet on a cold start) triggers one coalesced fetch and waits at most
+ *       miss-wait for it</li>
+ *   <li>Unknown-key fetches are rate limited by min-refresh-gap, so tokens with bogus key ids
+ *       cannot make this service hammer the IdP</li>
+ *   <li>The cache file decides which signatures are accepted until the first fetch, so it is
+ *       only loaded if it and its directory are owned by the process user, are not symlinks
+ *       and are not writable by group or others; it is written 0600 in a 0700 directory</li>
+ * </ul>
+ */
+@Slf4j
+public class BackgroundJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private final String issuerUri;
+    private final Path cacheFile;
+    private final OneInfraSecurityProperties.Jwks settings;
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+    private final Counter refreshOk;
+    private final Counter refreshFailed;
+
+    private volatile URI jwkSetUri;
+    private volatile JWKSet keys = new JWKSet();
+    private volatile long lastAttemptNanos;
+
+    public BackgroundJwkSource(String issuerUri, String jwkSetUri, OneInfraSecurityProperties.Jwks settings,
+                               MeterRegistry meters) {
+        if (issuerUri == null && jwkSetUri == null) {
+            throw new IllegalStateException("Background JWKS loading needs issuer-uri or jwk-set-uri");
+        }
+        this.issuerUri = issuerUri;
+        this.jwkSetUri = (jwkSetUri != null) ? URI.create(jwkSetUri) : null;
+        this.settings = settings;
+        this.cacheFile = (settings.getCacheFile() != null && !settings.getCacheFile().isBlank())
+                ? Path.of(settings.getCacheFile())
+                : null;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(settings.getFetchTimeout())
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Threads.factory("jwks-refresh", false));
+
+        Gauge.builder("oneinfra.jwks.keys", this, s -> s.keys.getKeys().size())
+                .description("Signing keys held in memory for JWT verification")
+                .register(meters);
+        this.refreshOk = Counter.builder("oneinfra.jwks.refresh").tag("outcome", "ok").register(meters);
+        this.refreshFailed = Counter.builder("oneinfra.jwks.refresh").tag("outcome", "failed").register(meters);
+    }
+
+    /** Load the disk cache and schedule background fetches; never blocks on the network. */
+    public void start() {
+        loadCacheFile();
+
+        long every = settings.getRefreshInterval().toMillis();
+        scheduler.schedule(this::refresh, 0, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::refresh, every, every, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean hasKeys() {
+        return !keys.getKeys().isEmpty();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        List<JWK> match = selector.select(keys);
+        if (!match.isEmpty()) return match;
+
+        // Unknown key id (rotation) or nothing loaded yet
+        if (hasKeys() && System.nanoTime() - lastAttemptNanos < settings.getMinRefreshGap().toNanos()) {
+            return List.of();
+        }
+        try {
+            JWKSet fresh = refresh().get(settings.getMissWait().toMillis(), TimeUnit.MILLISECONDS);
+            return selector.select(fresh);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        } catch (ExecutionException | TimeoutException e) {
+            return List.of();
+        }
+    }
+
+    // ---- Fetching -----------------------------------------------------------
+
+    /** Fetch the key set; concurrent callers share one in-flight fetch. */
+    CompletableFuture<JWKSet> refresh() {
+        CompletableFuture<JWKSet> mine = new CompletableFuture<>();
+        CompletableFuture<JWKSet> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) return running;
+
+        lastAttemptNanos = System.nanoTime();
+        scheduler.execute(() -> {
+            try {
+                JWKSet fetched = fetch();
+                keys = fetched;
+                refreshOk.increment();
+                writeCacheFile(fetched);
+                mine.complete(fetched);
+            } catch (Exception e) {
+                refreshFailed.increment();
+                log.warn("JWKS refresh failed; still serving {} cached keys: {}", keys.getKeys().size(), e.getMessage());
+                mine.completeExceptionally(e);
+            } finally {
+                inFlight.set(null);
+            }
+        });
+        return mine;
+    }
+
+    private JWKSet fetch() throws Exception {
+        URI uri = jwkSetUri;
+        if (uri == null) {
+            Map<String, Object> discovery = JSONObjectUtils.parse(get(URI.create(
+                    issuerUri.replaceAll("/+$", "") + "/.well-known/openid-configuration")));
+            String jwks = JSONObjectUtils.getString(discovery, "jwks_uri");
+            if (jwks == null) throw new IOException("Issuer metadata has no jwks_uri");
+            uri = URI.create(jwks);
+            jwkSetUri = uri;
+        }
+        return JWKSet.parse(get(uri)).toPublicJWKSet();
+    }
+
+    private String get(URI uri) throws IOException, InterruptedException {
+        HttpRequest req = HttpRequest.newBuilder(uri)
+                .timeout(settings.getFetchTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+        if (resp.statusCode() != 200) {
+            throw new IOException("GET " + uri + " returned " + resp.statusCode());
+        }
+        return resp.body();
+    }
+
+    // ---- Disk cache ---------------------------------------------------------
+
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    private static final Set<PosixFilePermission> NOT_SHARED_WRITABLE =
+            Set.of(PosixFilePermission.GROUP_WRITE, PosixFilePermission.OTHERS_WRITE);
+
+    private void loadCacheFile() {
+        if (cacheFile == null || !Files.isRegularFile(cacheFile, LinkOption.NOFOLLOW_LINKS)) return;
+        String untrusted = untrusted(cacheFile.toAbsolutePath().getParent());
+        if (untrusted == null) untrusted = untrusted(cacheFile);
+        if (untrusted != null) {
+            log.warn("Ignoring JWKS cache {}: {}", cacheFile, untrusted);
+            return;
+        }
+        try {
+            keys = JWKSet.parse(Files.readString(cacheFile, StandardCharsets.UTF_8)).toPublicJWKSet();
+            log.info("Loaded {} JWKS keys from {}", keys.getKeys().size(), cacheFile);
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable JWKS cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private void writeCacheFile(JWKSet set) {
+        if (cacheFile == null) return;
+        try {
+            Path dir = cacheFile.toAbsolutePath().getParent();
+            if (!Files.isDirectory(dir)) {
+                Files.createDirectories(dir, posixOnly("rwx------"));
+            }
+            String untrusted = untrusted(dir);
+            if (untrusted != null) {
+                log.warn("Not writing JWKS cache {}: {}", cacheFile, untrusted);
+                return;
+            }
+            Path tmp = Files.createTempFile(dir, "jwks", ".tmp", posixOnly("rw-------"));
+            Files.writeString(tmp, set.toString(true), StandardCharsets.UTF_8);
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot write JWKS cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /** Why {@code path} must not be trusted, or null if it belongs to this user and nobody else can write it. */
+    private static String untrusted(Path path) {
+        try {
+            if (Files.isSymbolicLink(path)) {
+                return path + " is a symlink";
+            }
+            String owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).getName();
+            String user = System.getProperty("user.name");
+            if (!owner.equals(user) && !owner.endsWith("\\" + user)) {
+                return path + " is owned by " + owner + ", not " + user;
+            }
+            if (POSIX) {
+                Set<PosixFilePermission> perms = Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS);
+                if (perms.stream().anyMatch(NOT_SHARED_WRITABLE::contains)) {
+                    return path + " is writable by group or others (" + PosixFilePermissions.toString(perms) + ")";
+                }
+            }
+            return null;
+        } catch (IOException | UnsupportedOperationException e) {
+            return "cannot check owner of " + path + ": " + e.getMessage();
+        }
+    }
+
+    private static FileAttribute<?>[] posixOnly(String perms) {
+        return POSIX
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(perms))}
+                : new FileAttribute<?>[0];
+    }
+}
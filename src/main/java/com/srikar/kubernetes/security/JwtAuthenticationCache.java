@@ -0,0 +1,147 @@
+package com.srikar.kubernetes.security;
+
+import com.srikar.kubernetes.properties.OneInfraSecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of verified JWTs and their mapped authorities, keyed by the SHA-256 of the token.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>{@link #decoder(JwtDecoder)} wraps the real decoder: a hit skips signature verification
+ *       and claim validation and returns the previously verified {@link Jwt}</li>
+ *   <li>{@link #authorities} memoizes the Keycloak role mapping per token; the authentication
+ *       token itself is still created per request (Spring sets request details on it)</li>
+ *   <li>An entry lives until the token's {@code exp}, at most oneinfra.security.jwt-cache.max-ttl;
+ *       the least recently used entries are dropped beyond max-entries</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>Only tokens the delegate accepted are cached; failures are never cached</li>
+ *   <li>Keys are digests, so bearer tokens are not retained as map keys</li>
+ *   <li>A token revoked at the IdP stays accepted for up to max-ttl (as it would with
+ *       any JWT validation that does not call the IdP)</li>
+ * </ul>
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public JwtAuthenticationCache(OneInfraSecurityProperties props, MeterRegistry meters) {
+        OneInfraSecurityProperties.JwtCache settings = props.getJwtCache();
+        this.enabled = settings.isEnabled();
+        this.maxTtl = settings.getMaxTtl();
+
+        int maxEntries = settings.getMaxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        Gauge.builder("oneinfra.jwt.cache.size", entries, Map::size)
+                .description("Verified JWTs held in memory")
+                .register(meters);
+        this.hits = Counter.builder("oneinfra.jwt.cache.requests").tag("result", "hit").register(meters);
+        this.misses = Counter.builder("oneinfra.jwt.cache.requests").tag("result", "miss").register(meters);
+    }
+
+    /** Caching view of {@code delegate}; the delegate itself when the cache is disabled. */
+    public JwtDecoder decoder(JwtDecoder delegate) {
+        if (!enabled) return delegate;
+
+        return token -> {
+            String key = key(token);
+            Entry e = live(key);
+            if (e != null) {
+                hits.increment();
+                return e.jwt;
+            }
+            misses.increment();
+
+            Jwt jwt = delegate.decode(token);
+            entries.put(key, new Entry(jwt, expiry(jwt)));
+            return jwt;
+        };
+    }
+
+    /** Authorities of {@code jwt}, computed once per cached token. */
+    public Collection<GrantedAuthority> authorities(Jwt jwt, Converter<Jwt, Collection<GrantedAuthority>> mapper) {
+        if (!enabled) return mapper.convert(jwt);
+
+        Entry e = live(key(jwt.getTokenValue()));
+        if (e == null || e.jwt != jwt) {
+            // Not decoded through this cache (or replaced meanwhile): compute without caching
+            return mapper.convert(jwt);
+        }
+
+        Collection<GrantedAuthority> authorities = e.authorities;
+        if (authorities == null) {
+            authorities = List.copyOf(mapper.convert(jwt));
+            e.authorities = authorities;
+        }
+        return authorities;
+    }
+
+    private Entry live(String key) {
+        Entry e = entries.get(key);
+        if (e == null) return null;
+        if (!Instant.now().isBefore(e.expiresAt)) {
+            entries.remove(key);
+            return null;
+        }
+        return e;
+    }
+
+    private Instant expiry(Jwt jwt) {
+        Instant cap = Instant.now().plus(maxTtl);
+        Instant exp = jwt.getExpiresAt();
+        return (exp != null && exp.isBefore(cap)) ? exp : cap;
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        final Jwt jwt;
+        final Instant expiresAt;
+        volatile Collection<GrantedAuthority> authorities;
+
+        Entry(Jwt jwt, Instant expiresAt) {
+            this.jwt = jwt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.srikar.kubernetes.security;
 
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -18,12 +19,29 @@ public final class KeycloakJwtAuthConverter {
      * - client roles:   resource_access.<clientId>.roles -> ROLE_<role>
      */
     public static JwtAuthenticationConverter build(String clientIdForClientRoles) {
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities(clientIdForClientRoles));
+        return converter;
+    }
+
+    /**
+     * Same as {@link #build(String)}, with the role mapping memoized per token in {@code cache}.
+     */
+    public static JwtAuthenticationConverter build(String clientIdForClientRoles, JwtAuthenticationCache cache) {
+        Converter<Jwt, Collection<GrantedAuthority>> mapper = authorities(clientIdForClientRoles);
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> cache.authorities(jwt, mapper));
+        return converter;
+    }
+
+    /** Scopes + realm roles + client roles of one token. */
+    static Converter<Jwt, Collection<GrantedAuthority>> authorities(String clientIdForClientRoles) {
 
         JwtGrantedAuthoritiesConverter scopeConverter = new JwtGrantedAuthoritiesConverter();
         scopeConverter.setAuthorityPrefix("SCOPE_"); // keep scopes too (optional)
 
-        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+        return jwt -> {
             Set<GrantedAuthority> authorities = new HashSet<>();
 
             // Include scopes (optional but harmless)
@@ -39,9 +57,7 @@ public final class KeycloakJwtAuthConverter {
             }
 
             return authorities;
-        });
-
-        return converter;
+        };
     }
 
     private static Collection<GrantedAuthority> extractRealmRoles(Jwt jwt) {
@@ -0,0 +1,249 @@
+package com.srikar.kubernetes.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.ApplyResult;
+import com.srikar.kubernetes.properties.OneInfraApiProperties;
+import com.srikar.kubernetes.utilities.Helper;
+import com.srikar.kubernetes.utilities.Threads;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.Namespaced;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Applies a multi-document YAML stream (e.g. a rendered release) to one namespace.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>Documents are parsed one at a time from the request body (never fully buffered)</li>
+ *   <li>Each parsed object is applied right away on a shared worker pool; at most
+ *       {@code oneinfra.api.apply.parallelism} objects of one request are in flight, and
+ *       parsing waits while that many are pending</li>
+ *   <li>Every document gets a result (APPLIED / FAILED) in request order; one failure
+ *       does not stop the others</li>
+ * </ul>
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>Objects are forced into the path namespace; a document naming another namespace fails</li>
+ *   <li>Cluster-scoped kinds (Namespace, ClusterRole, CRD, ...) are rejected per document:
+ *       this endpoint only writes into its namespace. Built-in kinds are classified by their
+ *       model class, other kinds by API discovery (once per apiVersion and request)</li>
+ *   <li>Parsing stops after {@code max-documents}; one FAILED result marks the unread rest</li>
+ *   <li>Objects are applied independently and concurrently: the request must not rely on
+ *       ordering between its documents</li>
+ *   <li>Each object is written with server-side apply ({@link ServerSideApplier}) in the
+ *       WRITE lane of {@link ClusterRateLimiter}, so a large stream queues behind the cluster's
+ *       write limit instead of crowding out interactive reads</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ApplyService {
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    private final KubernetesClientRegistry clients;
+    private final ServerSideApplier applier;
+    private final ClusterRateLimiter limiter;
+    private final OneInfraApiProperties.Apply settings;
+    private final ExecutorService workers;
+
+    public ApplyService(KubernetesClientRegistry clients, ServerSideApplier applier, ClusterRateLimiter limiter,
+                        OneInfraApiProperties props, Environment env) {
+        this.clients = clients;
+        this.applier = applier;
+        this.limiter = limiter;
+        this.settings = props.getApply();
+        this.workers = Executors.newFixedThreadPool(settings.getThreads(),
+                Threads.factory("yaml-apply", Threading.VIRTUAL.isActive(env)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public List<ApplyResult> apply(String cluster, String namespace, InputStream yaml, ApplyOptions opts) {
+        KubernetesClient client = clients.get(cluster);
+
+        Semaphore inFlight = new Semaphore(settings.getParallelism());
+        List<CompletableFuture<ApplyResult>> pending = new ArrayList<>();
+        List<ApplyResult> results = new ArrayList<>();
+        Map<String, Optional<APIResourceList>> discovery = new ConcurrentHashMap<>();
+
+        int index = 0;
+        try (MappingIterator<Map<String, Object>> docs = YAML.readerFor(Map.class).readValues(yaml)) {
+            while (docs.hasNextValue()) {
+                Map<String, Object> doc = docs.nextValue();
+                if (doc == null || doc.isEmpty()) continue;     // empty document ("---" only)
+
+                int i = index++;
+                if (i >= settings.getMaxDocuments()) {
+                    results.add(failed(i, doc, "more than " + settings.getMaxDocuments()
+                            + " documents; this and all following documents were not applied"));
+                    break;
+                }
+
+                inFlight.acquire();
+                try {
+                    pending.add(CompletableFuture
+                            .supplyAsync(() -> applyOne(cluster, client, namespace, i, doc, opts, discovery), workers)
+                            .whenComplete((r, e) -> inFlight.release()));
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            // Unparseable document: earlier documents still complete, parsing stops here
+            results.add(ApplyResult.builder()
+                    .index(index)
+                    .status(ApplyResult.Status.FAILED)
+                    .error("Invalid YAML: " + e.getMessage())
+                    .build());
+        } catch (RuntimeException e) {
+            // e.g. worker pool shut down; earlier documents still complete
+            log.warn("Apply to {} aborted at document {}: {}", namespace, index, e.toString());
+            results.add(ApplyResult.builder()
+                    .index(index)
+                    .status(ApplyResult.Status.FAILED)
+                    .error("Apply aborted: " + e.getMessage())
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Apply interrupted", e);
+        }
+
+        pending.forEach(f -> results.add(f.join()));
+        results.sort(Comparator.comparingInt(ApplyResult::getIndex));
+        return results;
+    }
+
+    private ApplyResult applyOne(String cluster, KubernetesClient client, String namespace, int index,
+                                 Map<String, Object> doc, ApplyOptions opts,
+                                 Map<String, Optional<APIResourceList>> discovery) {
+        try {
+            KubernetesResource res = client.getKubernetesSerialization().convertValue(doc, KubernetesResource.class);
+            if (!(res instanceof HasMetadata obj) || obj.getMetadata() == null
+                    || obj.getMetadata().getName() == null) {
+                return failed(index, doc, "document is not a Kubernetes object with metadata.name");
+            }
+
+            Boolean namespaced = isNamespaced(cluster, client, obj, discovery);
+            if (namespaced == null) {
+                return failed(index, doc, "kind " + obj.getKind() + " of " + obj.getApiVersion()
+                        + " is not served by the cluster");
+            }
+            if (!namespaced) {
+                return failed(index, doc, "cluster-scoped kind " + obj.getKind()
+                        + " cannot be applied to a namespace");
+            }
+
+            String ns = obj.getMetadata().getNamespace();
+            if (ns != null && !ns.equals(namespace)) {
+                return failed(index, doc, "namespace " + ns + " does not match " + namespace);
+            }
+            obj.getMetadata().setNamespace(namespace);
+
+            if (obj instanceof Deployment d) {
+                Helper.sanitizeDeploymentForYaml(d);
+            }
+
+            limiter.run(cluster, Lane.WRITE, () -> applier.apply(client, namespace, obj, opts));
+
+            return ApplyResult.builder()
+                    .index(index)
+                    .apiVersion(obj.getApiVersion())
+                    .kind(obj.getKind())
+                    .name(obj.getMetadata().getName())
+                    .status(ApplyResult.Status.APPLIED)
+                    .build();
+
+        } catch (Exception e) {
+            log.debug("Apply of document {} failed", index, e);
+            return failed(index, doc, (e instanceof ResponseStatusException rse) ? rse.getReason() : e.getMessage());
+        }
+    }
+
+    /**
+     * True / false for namespaced / cluster-scoped kinds; null if the cluster does not serve the kind.
+     * Discovery of a group/version runs in the WRITE lane like the apply itself, once per request.
+     */
+    private Boolean isNamespaced(String cluster, KubernetesClient client, HasMetadata obj,
+                                 Map<String, Optional<APIResourceList>> discovery) {
+        if (obj instanceof Namespaced) return true;
+        if (!(obj instanceof GenericKubernetesResource)) return false;    // built-in, cluster-scoped model
+
+        String apiVersion = obj.getApiVersion();
+        if (apiVersion == null || obj.getKind() == null) return null;
+        // Not computeIfAbsent: the limiter may wait, which must not block other keys of the map
+        Optional<APIResourceList> resources = discovery.get(apiVersion);
+        if (resources == null) {
+            resources = limiter.run(cluster, Lane.WRITE, () -> {
+                try {
+                    return Optional.ofNullable(client.getApiResources(apiVersion));
+                } catch (KubernetesClientException e) {
+                    if (e.getCode() == HttpStatus.NOT_FOUND.value()) return Optional.<APIResourceList>empty();
+                    throw e;
+                }
+            });
+            discovery.putIfAbsent(apiVersion, resources);
+        }
+
+        return resources.stream()
+                .flatMap(list -> list.getResources().stream())
+                .filter(r -> r.getName() != null && !r.getName().contains("/"))    // skip subresources
+                .filter(r -> obj.getKind().equals(r.getKind()))
+                .map(r -> Boolean.TRUE.equals(r.getNamespaced()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static ApplyResult failed(int index, Map<String, Object> doc, String error) {
+        Object md = doc.get("metadata");
+        Object name = (md instanceof Map<?, ?> m) ? m.get("name") : null;
+        return ApplyResult.builder()
+                .index(index)
+                .apiVersion(asString(doc.get("apiVersion")))
+                .kind(asString(doc.get("kind")))
+                .name(asString(name))
+                .status(ApplyResult.Status.FAILED)
+                .error(error)
+                .build();
+    }
+
+    private static String asString(Object o) {
+        return (o != null) ? o.toString() : null;
+    }
+}
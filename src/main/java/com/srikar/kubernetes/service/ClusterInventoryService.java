@@ -1,32 +1,54 @@
 package com.srikar.kubernetes.service;
 
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.api.Page;
 import com.srikar.kubernetes.db.ClusterNodeRepository;
+import com.srikar.kubernetes.db.InventoryQueryRepository;
+import com.srikar.kubernetes.db.NodeFilter;
+import com.srikar.kubernetes.db.ClusterNodeRow;
 import com.srikar.kubernetes.db.ClusterRepository;
 import com.srikar.kubernetes.dto.ClusterDto;
 import com.srikar.kubernetes.dto.ClusterNodeDto;
 import com.srikar.kubernetes.entity.ClusterEntity;
 import com.srikar.kubernetes.entity.ClusterNodeEntity;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
 import com.srikar.kubernetes.utilities.Helper;
+import com.srikar.kubernetes.utilities.Paging;
+import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.NodeAddress;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.net.InetAddress;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ClusterInventoryService {
 
-    private final KubernetesClient client;
+    private final KubernetesClientRegistry clients;
+    private final ClusterRateLimiter limiter;
     private final ClusterRepository clusterRepo;
     private final ClusterNodeRepository nodeRepo;
+    private final NodeHistoryService history;
+    private final OneInfraClusterProperties props;
+    private final InventoryQueryRepository inventoryQueries;
+    private final TransactionTemplate tx;
+
+    private final AtomicReference<CachedClusters> clusterDtos = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
 
     /**
      * READ-ONLY API projection for listing Kubernetes clusters with node snapshots.
@@ -41,17 +63,19 @@ public class ClusterInventoryService {
      *
      * <p><b>How it works:</b>
      * <ul>
-     *   <li>Uses a fetch-join query (findAllWithNodes) to eagerly load clusters and nodes
-     *       in a single SQL query</li>
-     *   <li>Runs fully inside a read-only transactional boundary</li>
-     *   <li>Maps persistence entities into immutable DTOs before returning</li>
+     *   <li>Reads flat cluster × node rows with a constructor projection
+     *       (findAllClusterNodeRows): one SQL query, no entity hydration</li>
+     *   <li>Groups the rows into immutable DTOs (cluster order by name, nodes by node name)</li>
+     *   <li>Keeps the assembled list in memory for {@code oneinfra.clusters.list-cache-ttl};
+     *       every committed {@link #upsertClusterFromK8s} drops it</li>
      * </ul>
      *
      * <p><b>Important design notes:</b>
      * <ul>
-     *   <li>DTO mapping happens inside the transaction to ensure all required data
-     *       is initialized while the Hibernate session is open</li>
-     *   <li>The returned DTOs are detached from JPA/Hibernate and safe for serialization</li>
+     *   <li>A cache hit touches neither a transaction nor a DB connection</li>
+     *   <li>A load that raced with a commit is returned but never served from the cache: entries
+     *       carry the generation they were loaded at and only match the current one</li>
+     *   <li>The returned DTOs are immutable and shared between callers</li>
      *   <li>Do NOT change this method to return entities directly</li>
      * </ul>
      *
@@ -60,158 +84,329 @@ public class ClusterInventoryService {
      *   <li>GET /k8s/clusters (DEV / TEST / ADMIN roles)</li>
      * </ul>
      */
-    @Transactional(readOnly = true)
     public List<ClusterDto> getClusterDtos() {
-        return clusterRepo.findAllWithNodes().stream()
+        long gen = generation.get();
+        CachedClusters cached = clusterDtos.get();
+        if (cached != null && cached.generation == gen
+                && System.nanoTime() - cached.loadedAtNanos < props.getListCacheTtl().toNanos()) {
+            return cached.clusters;
+        }
+
+        // Tagged with the generation read before loading: if a commit invalidates meanwhile,
+        // the entry no longer matches and the next read reloads
+        List<ClusterDto> loaded = toClusterDtos(clusterRepo.findAllClusterNodeRows());
+        clusterDtos.set(new CachedClusters(loaded, gen, System.nanoTime()));
+        return loaded;
+    }
+
+    /** Drop the cached cluster list (next read goes to the database). */
+    public void invalidateClusterDtos() {
+        generation.incrementAndGet();
+        clusterDtos.set(null);
+    }
+
+    private static List<ClusterDto> toClusterDtos(List<ClusterNodeRow> rows) {
+        Map<UUID, ClusterDto.ClusterDtoBuilder> clusters = new LinkedHashMap<>();
+        Map<UUID, List<ClusterNodeDto>> nodes = new HashMap<>();
+
+        for (ClusterNodeRow r : rows) {
+            clusters.computeIfAbsent(r.clusterId(), id -> ClusterDto.builder()
+                    .id(id)
+                    .name(r.clusterName())
+                    .createdAt(r.clusterCreatedAt())
+                    .updatedAt(r.clusterUpdatedAt()));
+
+            List<ClusterNodeDto> list = nodes.computeIfAbsent(r.clusterId(), id -> new ArrayList<>());
+            if (r.nodeId() == null) continue;   // cluster without nodes
+
+            list.add(toNodeDto(r));
+        }
+
+        return clusters.entrySet().stream()
+                .map(e -> e.getValue().nodes(List.copyOf(nodes.get(e.getKey()))).build())
+                .toList();
+    }
+
+    /**
+     * One keyset page of clusters ordered by name (nodes omitted; see {@link #pageNodes}).
+     * Size stays bounded however many clusters / nodes the fleet has.
+     */
+    @Transactional(readOnly = true)
+    public Page<ClusterDto> pageClusters(Integer limit, String continueToken) {
+        int max = Paging.keysetLimit(limit);
+        List<ClusterEntity> rows = inventoryQueries.findClusters(Paging.keyset(continueToken), max);
+
+        List<ClusterDto> items = rows.stream().limit(max)
                 .map(c -> ClusterDto.builder()
                         .id(c.getId())
                         .name(c.getName())
                         .createdAt(c.getCreatedAt())
                         .updatedAt(c.getUpdatedAt())
-                        .nodes(
-                                c.getNodes().stream()
-                                        .map(n -> ClusterNodeDto.builder()
-                                                .id(n.getId())
-                                                .nodeName(n.getNodeName())
-                                                .status(n.getStatus())
-                                                .roles(n.getRoles())
-                                                .kubeVersion(n.getKubeVersion())
-                                                .internalIp(n.getInternalIp())
-                                                .externalIp(n.getExternalIp())
-                                                .isControlPlane(n.getIsControlPlane())
-                                                .isVm(n.getIsVm())
-                                                .vmName(n.getVmName())
-                                                .observedAt(n.getObservedAt())
-                                                .build()
-                                        )
-                                        .toList()
-                        )
-                        .build()
-                )
+                        .build())
                 .toList();
+
+        String next = null;
+        if (rows.size() > max) {
+            ClusterDto last = items.get(items.size() - 1);
+            next = Paging.keysetToken(last.getName(), last.getId());
+        }
+        return Page.of(items, next);
     }
 
+    /**
+     * One keyset page of the nodes of a cluster ordered by node name; filters run in SQL.
+     */
+    @Transactional(readOnly = true)
+    public Page<ClusterNodeDto> pageNodes(String clusterName, NodeFilter filter, Integer limit, String continueToken) {
+        int max = Paging.keysetLimit(limit);
+        ClusterEntity cluster = clusterRepo.findByName(clusterName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown cluster: " + clusterName));
+
+        List<ClusterNodeRow> rows = inventoryQueries.findNodes(cluster.getId(), filter, Paging.keyset(continueToken), max);
 
+        List<ClusterNodeDto> items = rows.stream().limit(max)
+                .map(ClusterInventoryService::toNodeDto)
+                .toList();
+
+        String next = null;
+        if (rows.size() > max) {
+            ClusterNodeDto last = items.get(items.size() - 1);
+            next = Paging.keysetToken(last.getNodeName(), last.getId());
+        }
+        return Page.of(items, next);
+    }
+
+    private static ClusterNodeDto toNodeDto(ClusterNodeRow r) {
+        return ClusterNodeDto.builder()
+                .id(r.nodeId())
+                .nodeName(r.nodeName())
+                .status(r.status())
+                .roles(r.roles())
+                .kubeVersion(r.kubeVersion())
+                .internalIp(r.internalIp())
+                .externalIp(r.externalIp())
+                .isControlPlane(r.isControlPlane())
+                .isVm(r.isVm())
+                .vmName(r.vmName())
+                .observedAt(r.observedAt())
+                .build();
+    }
 
     /**
      * ✅ Main entrypoint:
-     * Controller triggers this to upsert the cluster + snapshot nodes.
+     * Controller triggers this to upsert the cluster + sync its node snapshot.
      *
      * Equivalent to:
      *   kubectl get nodes -o wide
      * and persist the snapshot.
+     *
+     * <p><b>How it works (incremental sync):</b>
+     * <ul>
+     *   <li>Live nodes are diffed against stored cluster_nodes rows by node_name</li>
+     *   <li>New nodes → batched INSERTs; gone nodes → one DELETE ... WHERE id IN (...)</li>
+     *   <li>Existing rows get the live values; Hibernate dirty checking only UPDATEs rows
+     *       whose values actually changed (batched)</li>
+     *   <li>observed_at of all rows is bumped with a single bulk UPDATE</li>
+     *   <li>The live snapshot is appended to the node history (one COPY)</li>
+     * </ul>
+     * A refresh of an unchanged cluster is one SELECT plus one UPDATE, whatever the node count.
+     *
+     * <p>A cluster seen for the first time is registered in its own short transaction, since the
+     * client registry resolves the cluster from its row. The node LIST then runs in {@code lane} of
+     * {@link ClusterRateLimiter} outside any transaction: waiting for a rate-limiter slot or a slow
+     * API server holds no JDBC connection. Only the diff and the writes are transactional.
      */
-    @Transactional
-    public ClusterEntity upsertClusterFromK8s(String clusterName) {
+    public ClusterEntity upsertClusterFromK8s(String clusterName, Lane lane) {
         if (clusterName == null || clusterName.isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cluster name is required");
         }
 
-        Instant now = Instant.now();
-
-        // ✅ Upsert cluster record
-        ClusterEntity cluster = clusterRepo.findByName(clusterName)
-                .orElseGet(() -> clusterRepo.save(
-                        ClusterEntity.builder()
-                                .id(UUID.randomUUID())
-                                .name(clusterName)
-                                .createdAt(now)
-                                .updatedAt(now)
-                                .build()
-                ));
-
-        cluster.setUpdatedAt(now);
+        // ✅ Register first, in its own short transaction: the registry resolves the client from
+        // this row (no kube_context / api_server_url → default client, legacy single-cluster setup)
+        UUID clusterId = clusterRepo.findByName(clusterName)
+                .orElseGet(() -> tx.execute(status -> register(clusterName)))
+                .getId();
 
-        // ✅ Replace node snapshot
-        nodeRepo.deleteByClusterId(cluster.getId());
+        List<Node> nodes = limiter.run(clusterName, lane, () -> clients.get(clusterName).nodes().list()).getItems();
 
-        List<ClusterNodeEntity> nodes = client.nodes().list().getItems().stream()
-                .map(n -> {
-
-                    var meta = n.getMetadata();
-                    var st = n.getStatus();
-
-                    String nodeName = (meta != null) ? meta.getName() : null;
-                    if (nodeName == null || nodeName.isBlank()) return null;
-
-                    // roles from labels: node-role.kubernetes.io/<role>
-                    String roles = (meta != null && meta.getLabels() != null)
-                            ? meta.getLabels().keySet().stream()
-                            .filter(k -> k.startsWith("node-role.kubernetes.io/"))
-                            .map(k -> k.replace("node-role.kubernetes.io/", ""))
-                            .filter(r -> !r.isBlank())
-                            .collect(Collectors.joining(","))
-                            : "";
-
-                    if (roles.isBlank()) roles = "worker";
+        Instant now = Instant.now();
+        history.preparePartition(now);
+        return tx.execute(status -> saveSnapshot(clusterId, clusterName, nodes, now));
+    }
 
-                    boolean isControlPlane = roles.contains("control-plane") || roles.contains("master");
+    private ClusterEntity register(String clusterName) {
+        return clusterRepo.findByName(clusterName).orElseGet(() -> {
+            Instant now = Instant.now();
+            invalidateClusterDtosAfterCommit();
+            return clusterRepo.save(
+                    ClusterEntity.builder()
+                            .id(UUID.randomUUID())
+                            .name(clusterName)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build()
+            );
+        });
+    }
 
-                    String kubeVersion = (st != null && st.getNodeInfo() != null)
-                            ? nullSafe(st.getNodeInfo().getKubeletVersion(), "—")
-                            : "—";
+    private ClusterEntity saveSnapshot(UUID clusterId, String clusterName, List<Node> nodes, Instant now) {
+        ClusterEntity cluster = clusterRepo.findById(clusterId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Cluster " + clusterName + " was removed during the refresh"));
 
-                    String nodeStatus = (st != null && st.getConditions() != null)
-                            ? st.getConditions().stream()
-                            .filter(c -> "Ready".equalsIgnoreCase(c.getType()))
-                            .findFirst()
-                            .map(c -> "True".equalsIgnoreCase(c.getStatus()) ? "Ready" : "NotReady")
-                            .orElse("Unknown")
-                            : "Unknown";
+        cluster.setUpdatedAt(now);
+        invalidateClusterDtosAfterCommit();
 
-                    Map<String, String> ips = extractNodeIps(st);
+        List<ClusterNodeEntity> live = nodes.stream()
+                .map(n -> toNodeEntity(n, cluster, now))
+                .filter(Objects::nonNull)
+                .toList();
 
-                    InetAddress internalIp = Helper.toInet(ips.get("InternalIP"));
-                    InetAddress externalIp = Helper.toInet(ips.get("ExternalIP"));
+        // ✅ Diff against stored rows by node_name
+        List<UUID> gone = new ArrayList<>();
+        Map<String, ClusterNodeEntity> stored = new HashMap<>();
+        for (ClusterNodeEntity row : nodeRepo.findByClusterId(cluster.getId())) {
+            if (stored.putIfAbsent(row.getNodeName(), row) != null) {
+                gone.add(row.getId());      // duplicate name from an older snapshot
+            }
+        }
 
-                    // DB internal_ip is NOT NULL, so skip if missing
-                    if (internalIp == null) return null;
+        List<ClusterNodeEntity> added = new ArrayList<>();
+        for (ClusterNodeEntity node : live) {
+            ClusterNodeEntity row = stored.remove(node.getNodeName());
+            if (row == null) {
+                added.add(node);
+            } else {
+                copySnapshot(node, row);    // managed entity: UPDATE only if a value changed
+            }
+        }
+        stored.values().forEach(row -> gone.add(row.getId()));
 
-                    String osImage = (st != null && st.getNodeInfo() != null)
-                            ? nullSafe(st.getNodeInfo().getOsImage(), "—")
-                            : "—";
+        if (!gone.isEmpty()) {
+            nodeRepo.deleteAllByIdInBatch(gone);
+        }
+        nodeRepo.saveAll(added);
 
-                    String kernelVersion = (st != null && st.getNodeInfo() != null)
-                            ? nullSafe(st.getNodeInfo().getKernelVersion(), "—")
-                            : "—";
+        // Flushes the batched INSERTs / UPDATEs, then bumps observed_at in one statement
+        nodeRepo.touchObservedAt(cluster.getId(), now);
+        history.record(cluster.getId(), live, now);
 
-                    String containerRuntime = (st != null && st.getNodeInfo() != null)
-                            ? nullSafe(st.getNodeInfo().getContainerRuntimeVersion(), "—")
-                            : "—";
+        return clusterRepo.save(cluster);
+    }
 
-                    // For now: infer VM based on your lab (workers are VMs; control-plane is host)
-                    boolean isVm = !isControlPlane;
-                    String vmName = isVm ? nodeName : null;
+    /** Refresh a user is waiting for (interactive lane). */
+    public ClusterEntity upsertClusterFromK8s(String clusterName) {
+        return upsertClusterFromK8s(clusterName, Lane.INTERACTIVE);
+    }
 
-                    return ClusterNodeEntity.builder()
-                            .id(UUID.randomUUID())
-                            .cluster(cluster)
-                            .nodeName(nodeName)
-                            .status(nodeStatus)
-                            .roles(roles)
-                            .kubeVersion(kubeVersion)
-                            .internalIp(internalIp)
-                            .externalIp(externalIp)
-                            .osImage(osImage)
-                            .kernelVersion(kernelVersion)
-                            .containerRuntime(containerRuntime)
-                            .isControlPlane(isControlPlane)
-                            .isVm(isVm)
-                            .vmName(vmName)
-                            .observedAt(now)
-                            .build();
-                })
-                .filter(Objects::nonNull)
-                .toList();
+    public ClusterEntity refreshCluster(String clusterName) {
+        return upsertClusterFromK8s(clusterName);
+    }
 
-        nodeRepo.saveAll(nodes);
+    /** Map a live Node to a new (not yet persisted) row; null if it cannot be stored. */
+    private static ClusterNodeEntity toNodeEntity(Node n, ClusterEntity cluster, Instant now) {
+
+        var meta = n.getMetadata();
+        var st = n.getStatus();
+
+        String nodeName = (meta != null) ? meta.getName() : null;
+        if (nodeName == null || nodeName.isBlank()) return null;
+
+        // roles from labels: node-role.kubernetes.io/<role>
+        String roles = (meta != null && meta.getLabels() != null)
+                ? meta.getLabels().keySet().stream()
+                .filter(k -> k.startsWith("node-role.kubernetes.io/"))
+                .map(k -> k.replace("node-role.kubernetes.io/", ""))
+                .filter(r -> !r.isBlank())
+                .collect(Collectors.joining(","))
+                : "";
+
+        if (roles.isBlank()) roles = "worker";
+
+        boolean isControlPlane = roles.contains("control-plane") || roles.contains("master");
+
+        String kubeVersion = (st != null && st.getNodeInfo() != null)
+                ? nullSafe(st.getNodeInfo().getKubeletVersion(), "—")
+                : "—";
+
+        String nodeStatus = (st != null && st.getConditions() != null)
+                ? st.getConditions().stream()
+                .filter(c -> "Ready".equalsIgnoreCase(c.getType()))
+                .findFirst()
+                .map(c -> "True".equalsIgnoreCase(c.getStatus()) ? "Ready" : "NotReady")
+                .orElse("Unknown")
+                : "Unknown";
+
+        Map<String, String> ips = extractNodeIps(st);
+
+        InetAddress internalIp = Helper.toInet(ips.get("InternalIP"));
+        InetAddress externalIp = Helper.toInet(ips.get("ExternalIP"));
+
+        // DB internal_ip is NOT NULL, so skip if missing
+        if (internalIp == null) return null;
+
+        String osImage = (st != null && st.getNodeInfo() != null)
+                ? nullSafe(st.getNodeInfo().getOsImage(), "—")
+                : "—";
+
+        String kernelVersion = (st != null && st.getNodeInfo() != null)
+                ? nullSafe(st.getNodeInfo().getKernelVersion(), "—")
+                : "—";
+
+        String containerRuntime = (st != null && st.getNodeInfo() != null)
+                ? nullSafe(st.getNodeInfo().getContainerRuntimeVersion(), "—")
+                : "—";
+
+        // For now: infer VM based on your lab (workers are VMs; control-plane is host)
+        boolean isVm = !isControlPlane;
+        String vmName = isVm ? nodeName : null;
+
+        return ClusterNodeEntity.builder()
+                .id(UUID.randomUUID())
+                .cluster(cluster)
+                .nodeName(nodeName)
+                .status(nodeStatus)
+                .roles(roles)
+                .kubeVersion(kubeVersion)
+                .internalIp(internalIp)
+                .externalIp(externalIp)
+                .osImage(osImage)
+                .kernelVersion(kernelVersion)
+                .containerRuntime(containerRuntime)
+                .isControlPlane(isControlPlane)
+                .isVm(isVm)
+                .vmName(vmName)
+                .observedAt(now)
+                .build();
+    }
 
-        return clusterRepo.save(cluster);
+    /** Copy live values onto a stored row (id, cluster and observed_at stay as they are). */
+    private static void copySnapshot(ClusterNodeEntity from, ClusterNodeEntity to) {
+        to.setStatus(from.getStatus());
+        to.setRoles(from.getRoles());
+        to.setKubeVersion(from.getKubeVersion());
+        to.setInternalIp(from.getInternalIp());
+        to.setExternalIp(from.getExternalIp());
+        to.setOsImage(from.getOsImage());
+        to.setKernelVersion(from.getKernelVersion());
+        to.setContainerRuntime(from.getContainerRuntime());
+        to.setIsControlPlane(from.getIsControlPlane());
+        to.setIsVm(from.getIsVm());
+        to.setVmName(from.getVmName());
     }
 
-    @Transactional
-    public ClusterEntity refreshCluster(String clusterName) {
-        return upsertClusterFromK8s(clusterName);
+    private void invalidateClusterDtosAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateClusterDtos();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Also on rollback: a read during the transaction may have raced with it
+                invalidateClusterDtos();
+            }
+        });
     }
 
     private static Map<String, String> extractNodeIps(io.fabric8.kubernetes.api.model.NodeStatus status) {
@@ -229,4 +424,6 @@ public class ClusterInventoryService {
     private static String nullSafe(String v, String fallback) {
         return (v == null || v.isBlank()) ? fallback : v;
     }
+
+    private record CachedClusters(List<ClusterDto> clusters, long generation, long loadedAtNanos) {}
 }
@@ -0,0 +1,202 @@
+package com.srikar.kubernetes.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
+import com.srikar.kubernetes.properties.OneInfraApiProperties;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Label-selector bulk delete: one DELETE on the collection URL (deletecollection) per kind.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>{@code DELETE /api[s]/.../namespaces/{ns}/{plural}?labelSelector=...} with DeleteOptions
+ *       carrying the propagation policy; the API server deletes all matches and returns them</li>
+ *   <li>With {@code wait}, a metadata-only LIST (limit=1) is polled until nothing matches the
+ *       selector any more (finalizers, foreground deletion) or oneinfra.api.delete.wait-timeout
+ *       elapses</li>
+ *   <li>The DELETE takes a WRITE-lane slot of {@link ClusterRateLimiter}; each poll is a cheap
+ *       read and takes an INTERACTIVE slot, so waiting does not starve other writes of the
+ *       cluster. No slot is held while sleeping between polls</li>
+ * </ul>
+ *
+ * <p>An empty selector is rejected: it would delete every object of the kind in the namespace.
+ */
+@Component
+public class CollectionDeleter {
+
+    /** Kinds offered for bulk delete; the path is relative to the API server root. */
+    public enum Kind {
+        DEPLOYMENTS("Deployment", "apis/apps/v1"),
+        CONFIGMAPS("ConfigMap", "api/v1"),
+        SECRETS("Secret", "api/v1");
+
+        private final String kind;
+        private final String groupVersionPath;
+
+        Kind(String kind, String groupVersionPath) {
+            this.kind = kind;
+            this.groupVersionPath = groupVersionPath;
+        }
+
+        String plural() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final String METADATA_LIST_ACCEPT =
+            "application/json;as=PartialObjectMetadataList;g=meta.k8s.io;v=v1, application/json";
+
+    private final KubernetesClientRegistry clients;
+    private final ClusterRateLimiter limiter;
+    private final ObjectMapper mapper;
+    private final OneInfraApiProperties.Delete settings;
+
+    public CollectionDeleter(KubernetesClientRegistry clients, ClusterRateLimiter limiter, ObjectMapper mapper,
+                             OneInfraApiProperties props) {
+        this.clients = clients;
+        this.limiter = limiter;
+        this.mapper = mapper;
+        this.settings = props.getDelete();
+    }
+
+    /**
+     * Delete every object of {@code kind} in {@code namespace} matching {@code selector}.
+     *
+     * @param propagationPolicy Background (default), Foreground or Orphan
+     * @param waitForGone       block until no object matches any more (bounded by wait-timeout)
+     */
+    public BulkDeleteResult delete(String cluster, Kind kind, String namespace, String selector,
+                                   String propagationPolicy, boolean waitForGone) {
+        if (selector == null || selector.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "selector is required; refusing to delete every " + kind.kind + " of the namespace");
+        }
+        DeletionPropagation policy = parsePolicy(propagationPolicy);
+        KubernetesClient client = clients.get(cluster);
+
+        String url = collectionUrl(client, kind, namespace) + "?labelSelector=" + encode(selector);
+        String body;
+        try {
+            body = mapper.writeValueAsString(Map.of(
+                    "apiVersion", "v1",
+                    "kind", "DeleteOptions",
+                    "propagationPolicy", policy.getValue()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot serialize DeleteOptions", e);
+        }
+
+        HttpClient http = client.getHttpClient();
+        JsonNode deleted = send(cluster, http, http.newHttpRequestBuilder()
+                .uri(url)
+                .delete("application/json", body)
+                .build(), kind, Lane.WRITE);
+
+        List<String> names = new ArrayList<>();
+        for (JsonNode item : deleted.path("items")) {
+            names.add(item.path("metadata").path("name").asText());
+        }
+
+        Boolean gone = waitForGone ? awaitGone(cluster, client, kind, namespace, selector) : null;
+
+        return BulkDeleteResult.builder()
+                .kind(kind.kind)
+                .namespace(namespace)
+                .selector(selector)
+                .propagationPolicy(policy.getValue())
+                .deleted(names.size())
+                .names(names)
+                .gone(gone)
+                .build();
+    }
+
+    private boolean awaitGone(String cluster, KubernetesClient client, Kind kind, String namespace, String selector) {
+        String url = collectionUrl(client, kind, namespace) + "?limit=1&labelSelector=" + encode(selector);
+        HttpClient http = client.getHttpClient();
+        long deadline = System.nanoTime() + settings.getWaitTimeout().toNanos();
+
+        while (true) {
+            JsonNode list = send(cluster, http, http.newHttpRequestBuilder()
+                    .uri(url)
+                    .header("Accept", METADATA_LIST_ACCEPT)
+                    .build(), kind, Lane.INTERACTIVE);
+            if (list.path("items").isEmpty()) return true;
+
+            if (System.nanoTime() >= deadline) return false;
+            try {
+                Thread.sleep(settings.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private JsonNode send(String cluster, HttpClient http, HttpRequest req, Kind kind, Lane lane) {
+        return limiter.run(cluster, lane, () -> send(http, req, kind));
+    }
+
+    private JsonNode send(HttpClient http, HttpRequest req, Kind kind) {
+        HttpResponse<String> resp;
+        try {
+            resp = http.sendAsync(req, String.class).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, kind.kind + " bulk delete interrupted", e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    kind.kind + " bulk delete failed: " + e.getMessage(), e);
+        }
+
+        if (!resp.isSuccessful()) {
+            throw new ResponseStatusException(HttpStatusCode.valueOf(resp.code()),
+                    kind.kind + " bulk delete failed: " + resp.body());
+        }
+
+        try {
+            return mapper.readTree(resp.body());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    "Unreadable " + kind.kind + " list: " + e.getMessage(), e);
+        }
+    }
+
+    private static String collectionUrl(KubernetesClient client, Kind kind, String namespace) {
+        return URLUtils.join(client.getMasterUrl().toString(),
+                kind.groupVersionPath, "namespaces", namespace, kind.plural());
+    }
+
+    private static DeletionPropagation parsePolicy(String value) {
+        if (value == null || value.isBlank()) return DeletionPropagation.BACKGROUND;
+        try {
+            return DeletionPropagation.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "propagationPolicy must be Background, Foreground or Orphan");
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -1,13 +1,22 @@
 package com.srikar.kubernetes.service;
 
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.cache.SingleFlight;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.dto.ConfigMapDtos.ConfigMapDetail;
 import com.srikar.kubernetes.dto.ConfigMapDtos.ConfigMapSummary;
 import com.srikar.kubernetes.dto.ConfigMapDtos.UpsertConfigMap;
 import com.srikar.kubernetes.utilities.Helper;
+import com.srikar.kubernetes.utilities.Paging;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapList;
 import io.fabric8.kubernetes.api.model.StatusDetails;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -19,27 +28,58 @@ import java.util.Map;
 @Service
 public class ConfigMapService {
 
-    private final KubernetesClient client;
+    private final KubernetesClientRegistry clients;
+    private final ServerSideApplier applier;
+    private final CollectionDeleter deleter;
+    private final SingleFlight flight;
+    private final ClusterRateLimiter limiter;
+
+    public ConfigMapService(KubernetesClientRegistry clients, ServerSideApplier applier, CollectionDeleter deleter,
+                            SingleFlight flight, ClusterRateLimiter limiter) {
+        this.clients = clients;
+        this.applier = applier;
+        this.deleter = deleter;
+        this.flight = flight;
+        this.limiter = limiter;
+    }
+
+    public List<ConfigMapSummary> list(String cluster, String namespace) {
+        return list(cluster, namespace, null, null).getItems();
+    }
+
+    /** One page of ConfigMaps (limit / continue); a null limit returns all remaining items. */
+    public Page<ConfigMapSummary> list(String cluster, String namespace, Integer limit, String continueToken) {
+        return flight.run(SingleFlight.Key.of(cluster, "configmaps", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveList(cluster, namespace, limit, continueToken)));
+    }
 
-    public ConfigMapService(KubernetesClient client) {
-        this.client = client;
+    /** Detail plus resourceVersion (ETag). */
+    public Versioned<ConfigMapDetail> get(String cluster, String namespace, String name) {
+        return flight.run(SingleFlight.Key.of(cluster, "configmap", namespace, name),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveGet(cluster, namespace, name)));
     }
 
-    public List<ConfigMapSummary> list(String namespace) {
-        return client.configMaps()
+    private Page<ConfigMapSummary> liveList(String cluster, String namespace, Integer limit, String continueToken) {
+        ConfigMapList list = clients.get(cluster).configMaps()
                 .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .map(cm -> new ConfigMapSummary(
-                        cm.getMetadata().getName(),
-                        (cm.getData() == null) ? 0 : cm.getData().size()
-                ))
-                .toList();
+                .list(Paging.listOptions(limit, continueToken));
+
+        return Page.of(
+                list.getItems()
+                        .stream()
+                        .map(cm -> new ConfigMapSummary(
+                                cm.getMetadata().getName(),
+                                (cm.getData() == null) ? 0 : cm.getData().size()
+                        ))
+                        .toList(),
+                Paging.next(list.getMetadata())
+        );
     }
 
-    public ConfigMapDetail get(String namespace, String name) {
-        ConfigMap cm = client.configMaps()
+    private Versioned<ConfigMapDetail> liveGet(String cluster, String namespace, String name) {
+        ConfigMap cm = clients.get(cluster).configMaps()
                 .inNamespace(namespace)
                 .withName(name)
                 .get();
@@ -48,10 +88,11 @@ public class ConfigMapService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "ConfigMap not found");
         }
 
-        return toDetail(cm);
+        return Versioned.of(toDetail(cm), cm.getMetadata().getResourceVersion());
     }
 
-    public ConfigMapDetail upsert(UpsertConfigMap req) {
+    /** Server-side apply (one PATCH); with {@code opts.dryRun()} nothing is persisted. */
+    public ConfigMapDetail upsert(String cluster, UpsertConfigMap req, ApplyOptions opts) {
         String ns = req.getNamespace();
         String name = req.getName();
 
@@ -64,19 +105,17 @@ public class ConfigMapService {
                 .withData(Helper.nullToEmptyMap(req.getData()))
                 .build();
 
-        ConfigMap saved = client.configMaps()
-                .inNamespace(ns)
-                .resource(desired)
-                .createOrReplace(); // warning: deprecated in newer Fabric8, but works
+        ConfigMap saved = limiter.run(cluster, Lane.WRITE,
+                () -> applier.replace(clients.get(cluster), ns, desired, opts, "f:data", "f:metadata/f:labels"));
 
         return toDetail(saved);
     }
 
-    public void delete(String namespace, String name) {
-        List<StatusDetails> result = client.configMaps()
+    public void delete(String cluster, String namespace, String name) {
+        List<StatusDetails> result = limiter.run(cluster, Lane.WRITE, () -> clients.get(cluster).configMaps()
                 .inNamespace(namespace)
                 .withName(name)
-                .delete();
+                .delete());
 
         if (result == null || result.isEmpty()) {
             throw new ResponseStatusException(
@@ -86,6 +125,13 @@ public class ConfigMapService {
         }
     }
 
+    /** Delete all ConfigMaps matching a label selector with one deletecollection call. */
+    public BulkDeleteResult deleteBySelector(String cluster, String namespace, String selector,
+                                             String propagationPolicy, boolean wait) {
+        return deleter.delete(cluster, CollectionDeleter.Kind.CONFIGMAPS,
+                namespace, selector, propagationPolicy, wait);
+    }
+
     private static ConfigMapDetail toDetail(ConfigMap cm) {
         String ts = (cm.getMetadata() != null) ? cm.getMetadata().getCreationTimestamp() : null;
         Instant created = Helper.parseK8sCreationTimestamp(ts);
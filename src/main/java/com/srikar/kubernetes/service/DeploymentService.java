@@ -1,9 +1,19 @@
 package com.srikar.kubernetes.service;
 
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.cache.RenderedYamlCache;
+import com.srikar.kubernetes.cache.SingleFlight;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.utilities.Helper;
+import com.srikar.kubernetes.utilities.Paging;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -16,24 +26,57 @@ import java.util.List;
 @Service
 public class DeploymentService {
 
-    private final KubernetesClient client;
+    private final KubernetesClientRegistry clients;
+    private final ServerSideApplier applier;
+    private final CollectionDeleter deleter;
+    private final RenderedYamlCache yamlCache;
+    private final SingleFlight flight;
+    private final ClusterRateLimiter limiter;
+
+    public DeploymentService(KubernetesClientRegistry clients, ServerSideApplier applier, CollectionDeleter deleter,
+                             RenderedYamlCache yamlCache, SingleFlight flight, ClusterRateLimiter limiter) {
+        this.clients = clients;
+        this.applier = applier;
+        this.deleter = deleter;
+        this.yamlCache = yamlCache;
+        this.flight = flight;
+        this.limiter = limiter;
+    }
+
+    public List<String> list(String cluster, String namespace) {
+        return list(cluster, namespace, null, null).getItems();
+    }
 
-    public DeploymentService(KubernetesClient client) {
-        this.client = client;
+    /** One page of Deployment names (limit / continue); a null limit returns all remaining items. */
+    public Page<String> list(String cluster, String namespace, Integer limit, String continueToken) {
+        return flight.run(SingleFlight.Key.of(cluster, "deployments", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveList(cluster, namespace, limit, continueToken)));
     }
 
-    public List<String> list(String namespace) {
-        return client.apps().deployments()
+    /** Sanitized YAML plus the resourceVersion it was rendered from (ETag). */
+    public Versioned<String> getAsYaml(String cluster, String namespace, String name) {
+        return flight.run(SingleFlight.Key.of(cluster, "deployment-yaml", namespace, name),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveYaml(cluster, namespace, name)));
+    }
+
+    private Page<String> liveList(String cluster, String namespace, Integer limit, String continueToken) {
+        DeploymentList list = clients.get(cluster).apps().deployments()
                 .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .map(d -> d.getMetadata().getName())
-                .toList();
+                .list(Paging.listOptions(limit, continueToken));
+
+        return Page.of(
+                list.getItems()
+                        .stream()
+                        .map(d -> d.getMetadata().getName())
+                        .toList(),
+                Paging.next(list.getMetadata())
+        );
     }
 
-    public String getAsYaml(String namespace, String name) {
-        Deployment d = client.apps().deployments()
+    private Versioned<String> liveYaml(String cluster, String namespace, String name) {
+        Deployment d = clients.get(cluster).apps().deployments()
                 .inNamespace(namespace)
                 .withName(name)
                 .get();
@@ -42,18 +85,19 @@ public class DeploymentService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Deployment not found");
         }
 
-        Helper.sanitizeDeploymentForYaml(d);
-        return Serialization.asYaml(d);
+        String rv = d.getMetadata().getResourceVersion();
+        return Versioned.of(yamlCache.render(d, Helper::sanitizeDeploymentForYaml), rv);
     }
 
-    public Deployment createFromYaml(String namespace, String yaml) {
+    public Deployment createFromYaml(String cluster, String namespace, String yaml) {
+        KubernetesClient client = clients.get(cluster);
         try (ByteArrayInputStream in =
                      new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))) {
 
-            Deployment created = client.apps().deployments()
+            Deployment created = limiter.run(cluster, Lane.WRITE, () -> client.apps().deployments()
                     .inNamespace(namespace)
                     .load(in)
-                    .create();
+                    .create());
 
             Helper.sanitizeDeploymentForYaml(created);
             return created;
@@ -67,7 +111,12 @@ public class DeploymentService {
         }
     }
 
-    public Deployment upsertFromYaml(String namespace, String name, String yaml) {
+    /**
+     * Server-side apply of a Deployment (one PATCH); returns the applied object.
+     * With {@code opts.dryRun()} nothing is persisted.
+     */
+    public Deployment upsertFromYaml(String cluster, String namespace, String name, String yaml, ApplyOptions opts) {
+        KubernetesClient client = clients.get(cluster);
         Deployment d;
         try {
             d = Serialization.unmarshal(yaml, Deployment.class);
@@ -89,14 +138,16 @@ public class DeploymentService {
         Helper.sanitizeDeploymentForYaml(d);
 
         try {
-            Deployment saved = client.apps().deployments()
-                    .inNamespace(namespace)
-                    .resource(d)
-                    .createOrReplace();
+            Deployment saved = limiter.run(cluster, Lane.WRITE, () -> applier.replace(client, namespace, d, opts,
+                    // Not all of f:spec: spec.replicas must stay with whoever scales (HPA, kubectl scale)
+                    "f:spec/f:template", "f:spec/f:selector", "f:spec/f:strategy",
+                    "f:metadata/f:labels", "f:metadata/f:annotations"));
 
             Helper.sanitizeDeploymentForYaml(saved);
             return saved;
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
@@ -106,14 +157,19 @@ public class DeploymentService {
         }
     }
 
-    public boolean delete(String namespace, String name) {
-        Resource<Deployment> res = client.apps().deployments()
+    /** Single DELETE; the client reports a 404 as an empty result. */
+    public boolean delete(String cluster, String namespace, String name) {
+        var details = limiter.run(cluster, Lane.WRITE, () -> clients.get(cluster).apps().deployments()
                 .inNamespace(namespace)
-                .withName(name);
-
-        if (res.get() == null) return false;
-
-        var details = res.delete();
+                .withName(name)
+                .delete());
         return details != null && !details.isEmpty();
     }
+
+    /** Delete all Deployments matching a label selector with one deletecollection call. */
+    public BulkDeleteResult deleteBySelector(String cluster, String namespace, String selector,
+                                             String propagationPolicy, boolean wait) {
+        return deleter.delete(cluster, CollectionDeleter.Kind.DEPLOYMENTS,
+                namespace, selector, propagationPolicy, wait);
+    }
 }
@@ -1,119 +1,107 @@
 package com.srikar.kubernetes.service;
 
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.cache.IngressCache;
+import com.srikar.kubernetes.cache.ServiceCache;
+import com.srikar.kubernetes.cache.SingleFlight;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
 import com.srikar.kubernetes.dto.IngressSummary;
 import com.srikar.kubernetes.dto.ServiceSummary;
-import com.srikar.kubernetes.utilities.Helper;
+import com.srikar.kubernetes.utilities.NetMapper;
+import com.srikar.kubernetes.utilities.Paging;
+import io.fabric8.kubernetes.api.model.ServiceList;
+import io.fabric8.kubernetes.api.model.networking.v1.IngressList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 @Service
 public class KubeNetService {
 
-    private static final String DASH = "—";
+    private final KubernetesClientRegistry clients;
+    private final ServiceCache serviceCache;
+    private final IngressCache ingressCache;
+    private final SingleFlight flight;
+    private final ClusterRateLimiter limiter;
+
+    public KubeNetService(KubernetesClientRegistry clients, ServiceCache serviceCache, IngressCache ingressCache,
+                          SingleFlight flight, ClusterRateLimiter limiter) {
+        this.clients = clients;
+        this.serviceCache = serviceCache;
+        this.ingressCache = ingressCache;
+        this.flight = flight;
+        this.limiter = limiter;
+    }
+
+    /** List Services in a namespace (default cluster: cached rows; live LIST while not synced) */
+    public List<ServiceSummary> listServices(String cluster, String namespace) {
+        return listServices(cluster, namespace, null, null).getItems();
+    }
+
+    /** One page of Services (limit / continue) */
+    public Page<ServiceSummary> listServices(String cluster, String namespace, Integer limit, String continueToken) {
+        // Client (and its circuit check) resolved only for a live LIST: the cache answers without it
+        Supplier<Page<ServiceSummary>> live = () -> flight.run(
+                SingleFlight.Key.of(cluster, "services", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveServices(clients.get(cluster), namespace, limit, continueToken)));
+
+        if (!clients.isDefault(cluster)) {
+            return live.get();
+        }
+        return serviceCache.pageOrLive(namespace, limit, continueToken, live);
+    }
 
-    private final KubernetesClient client;
+    /** List Ingress objects in a namespace (default cluster: cached rows; live LIST while not synced) */
+    public List<IngressSummary> listIngress(String cluster, String namespace) {
+        return listIngress(cluster, namespace, null, null).getItems();
+    }
 
-    public KubeNetService(KubernetesClient client) {
-        this.client = client;
+    /** One page of Ingress rows; limit counts Ingress objects, each may yield several rule rows */
+    public Page<IngressSummary> listIngress(String cluster, String namespace, Integer limit, String continueToken) {
+        Supplier<Page<List<IngressSummary>>> live = () -> flight.run(
+                SingleFlight.Key.of(cluster, "ingresses", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveIngress(clients.get(cluster), namespace, limit, continueToken)));
+
+        Page<List<IngressSummary>> page = clients.isDefault(cluster)
+                ? ingressCache.pageOrLive(namespace, limit, continueToken, live)
+                : live.get();
+
+        return Page.of(
+                page.getItems().stream().flatMap(Collection::stream).toList(),
+                page.getContinueToken()
+        );
     }
 
-    /** List Services in a namespace */
-    public List<ServiceSummary> listServices(String namespace) {
-        return client.services()
+    private static Page<ServiceSummary> liveServices(KubernetesClient client, String namespace,
+                                                     Integer limit, String continueToken) {
+        ServiceList list = client.services()
                 .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .map(svc -> {
-                    var md = svc.getMetadata();
-                    var spec = svc.getSpec();
-
-                    String name = (md != null) ? md.getName() : null;
-
-                    String clusterIpStr =
-                            (spec != null && spec.getClusterIPs() != null && !spec.getClusterIPs().isEmpty())
-                                    ? String.join(", ", spec.getClusterIPs())
-                                    : Helper.nullToDash(spec != null ? spec.getClusterIP() : null);
-
-                    String type =
-                            (spec == null || spec.getType() == null || spec.getType().isBlank())
-                                    ? "ClusterIP"
-                                    : spec.getType();
-
-                    String age = (md != null) ? Helper.fmtAge(md.getCreationTimestamp()) : DASH;
-
-                    return ServiceSummary.builder()
-                            .name(name)
-                            .type(type)
-                            .clusterIP(clusterIpStr)
-                            .ports(Helper.fmtPorts(svc))
-                            .age(age)
-                            .build();
-                })
-                .toList();
+                .list(Paging.listOptions(limit, continueToken));
+
+        return Page.of(
+                list.getItems().stream().map(NetMapper::toServiceSummary).toList(),
+                Paging.next(list.getMetadata())
+        );
     }
 
-    /** List Ingress objects in a namespace */
-    public List<IngressSummary> listIngress(String namespace) {
-        return client.network()
+    private static Page<List<IngressSummary>> liveIngress(KubernetesClient client, String namespace,
+                                                          Integer limit, String continueToken) {
+        IngressList list = client.network()
                 .v1()
                 .ingresses()
                 .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .flatMap(ing -> {
-                    var md = ing.getMetadata();
-                    var spec = ing.getSpec();
-
-                    String name = (md != null) ? md.getName() : null;
-                    String age = (md != null) ? Helper.fmtAge(md.getCreationTimestamp()) : DASH;
-
-                    boolean tls = spec != null && spec.getTls() != null && !spec.getTls().isEmpty();
-                    String clazz = (spec != null && spec.getIngressClassName() != null)
-                            ? spec.getIngressClassName()
-                            : DASH;
-
-                    var rules = (spec != null) ? spec.getRules() : null;
-
-                    if (rules == null || rules.isEmpty()) {
-                        return Stream.of(buildIngress(name, DASH, tls, clazz, List.of("/"), age));
-                    }
-
-                    return rules.stream().map(r -> {
-                        String host = (r.getHost() != null) ? r.getHost() : DASH;
-
-                        List<String> paths =
-                                (r.getHttp() != null && r.getHttp().getPaths() != null)
-                                        ? r.getHttp().getPaths().stream()
-                                        .map(p -> p.getPath() != null ? p.getPath() : "/")
-                                        .toList()
-                                        : List.of("/");
-
-                        return buildIngress(name, host, tls, clazz, paths, age);
-                    });
-                })
-                .toList();
-    }
+                .list(Paging.listOptions(limit, continueToken));
 
-    private static IngressSummary buildIngress(
-            String name,
-            String host,
-            boolean tls,
-            String clazz,
-            List<String> paths,
-            String age
-    ) {
-        return IngressSummary.builder()
-                .name(name)
-                .host(host)
-                .tls(tls)
-                .clazz(clazz)
-                .paths(paths)
-                .age(age)
-                .build();
+        return Page.of(
+                list.getItems().stream().map(NetMapper::toIngressRows).toList(),
+                Paging.next(list.getMetadata())
+        );
     }
 }
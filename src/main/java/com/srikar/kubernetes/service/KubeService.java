@@ -1,42 +1,93 @@
 package com.srikar.kubernetes.service;
 
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.cache.PodCache;
+import com.srikar.kubernetes.cache.SingleFlight;
+import com.srikar.kubernetes.cluster.ClusterHealthProber;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.ClusterHealth;
 import com.srikar.kubernetes.dto.PodStatus;
+import com.srikar.kubernetes.utilities.Paging;
 import com.srikar.kubernetes.utilities.PodMapper;
 import com.srikar.kubernetes.utilities.Helper;
+import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 public class KubeService {
 
-    private final KubernetesClient client;
+    private final KubernetesClientRegistry clients;
+    private final PodCache podCache;
+    private final ClusterHealthProber prober;
+    private final SingleFlight flight;
+    private final ClusterRateLimiter limiter;
 
-    public KubeService(KubernetesClient client) {
-        this.client = client;
+    public KubeService(KubernetesClientRegistry clients, PodCache podCache, ClusterHealthProber prober,
+                       SingleFlight flight, ClusterRateLimiter limiter) {
+        this.clients = clients;
+        this.podCache = podCache;
+        this.prober = prober;
+        this.flight = flight;
+        this.limiter = limiter;
     }
 
-    public boolean isHealthy() {
-        return Helper.isClusterHealthy(client);
+    /** Last background probe result; does not contact the cluster unless it was never probed. */
+    public ClusterHealth health(String cluster) {
+        return prober.health(cluster);
     }
 
-    public List<String> listNamespaces() {
-        return Helper.extractNamespaceNames(
-                client.namespaces()
-                        .list()
-                        .getItems()
-        );
+    public List<ClusterHealth> healthOfAll() {
+        return prober.all();
+    }
+
+    public List<String> listNamespaces(String cluster) {
+        return flight.run(SingleFlight.Key.of(cluster, "namespaces", null),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> Helper.extractNamespaceNames(
+                                clients.get(cluster)
+                                        .namespaces()
+                                        .list()
+                                        .getItems()
+                        )));
+    }
+
+    /**
+     * Return PodStatus DTOs expected by the Angular UI.
+     * Default cluster: served from the pod informer cache (live LIST while not synced).
+     */
+    public List<PodStatus> listPods(String cluster, String namespace) {
+        return listPods(cluster, namespace, null, null).getItems();
     }
 
-    /** Return PodStatus DTOs expected by the Angular UI */
-    public List<PodStatus> listPods(String namespace) {
-        return client.pods()
+    /** One page of pods (limit / continue); a null limit returns all remaining pods. */
+    public Page<PodStatus> listPods(String cluster, String namespace, Integer limit, String continueToken) {
+        // Client (and its circuit check) resolved only for a live LIST: the cache answers without it
+        Supplier<Page<PodStatus>> live = () -> flight.run(
+                SingleFlight.Key.of(cluster, "pods", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> livePods(clients.get(cluster), namespace, limit, continueToken)));
+
+        if (!clients.isDefault(cluster)) {
+            return live.get();
+        }
+        return podCache.pageOrLive(namespace, limit, continueToken, live);
+    }
+
+    private static Page<PodStatus> livePods(KubernetesClient client, String namespace,
+                                            Integer limit, String continueToken) {
+        PodList list = client.pods()
                 .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .map(PodMapper::toDto)
-                .toList();
+                .list(Paging.listOptions(limit, continueToken));
+
+        return Page.of(
+                list.getItems().stream().map(PodMapper::toDto).toList(),
+                Paging.next(list.getMetadata())
+        );
     }
 }
@@ -0,0 +1,160 @@
+package com.srikar.kubernetes.service;
+
+import com.srikar.kubernetes.db.ClusterRepository;
+import com.srikar.kubernetes.db.NodeObservationRepository;
+import com.srikar.kubernetes.dto.NodeObservationDto;
+import com.srikar.kubernetes.entity.ClusterEntity;
+import com.srikar.kubernetes.entity.ClusterNodeEntity;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node history: one row per node per inventory refresh, kept for a bounded retention.
+ *
+ * <p><b>How it works:</b>
+ * <ul>
+ *   <li>{@link #record} appends the live snapshot with a single COPY, inside the refresh transaction</li>
+ *   <li>The table is partitioned by UTC day; partitions are created ahead of time and,
+ *       once past retention, dropped whole (no row-level DELETE, no vacuum debt)</li>
+ *   <li>Partitions are always created in their own, committed transaction: a refresh that rolls
+ *       back cannot take the partition with it while the day stays marked as known</li>
+ *   <li>That transaction never nests in a refresh: {@link #preparePartition} runs before the
+ *       refresh transaction starts, and {@link #record} skips the append (logged) if the day's
+ *       partition is still missing, instead of taking a second pooled connection while holding one</li>
+ *   <li>{@link #timeline} reads via the covering index (cluster_id, node_name, observed_at)</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class NodeHistoryService {
+
+    private final NodeObservationRepository observations;
+    private final ClusterRepository clusters;
+    private final OneInfraClusterProperties.History settings;
+    private final TransactionTemplate partitionTx;
+
+    private final Set<LocalDate> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public NodeHistoryService(NodeObservationRepository observations,
+                              ClusterRepository clusters,
+                              OneInfraClusterProperties props,
+                              PlatformTransactionManager txManager) {
+        this.observations = observations;
+        this.clusters = clusters;
+        this.settings = props.getHistory();
+        this.partitionTx = new TransactionTemplate(txManager);
+        this.partitionTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Create the partition {@code observedAt} falls into, if needed; call outside any transaction. */
+    public void preparePartition(Instant observedAt) {
+        if (!settings.isEnabled()) return;
+
+        LocalDate day = LocalDate.ofInstant(observedAt, ZoneOffset.UTC);
+        if (knownPartitions.contains(day)) return;
+        try {
+            ensurePartition(day);
+        } catch (Exception e) {
+            log.warn("Cannot create node history partition {}: {}", day, e.getMessage());
+        }
+    }
+
+    /**
+     * Append a snapshot; called by ClusterInventoryService within its transaction, after
+     * {@link #preparePartition}. Skipped if the day's partition does not exist.
+     */
+    public void record(UUID clusterId, List<ClusterNodeEntity> nodes, Instant observedAt) {
+        if (!settings.isEnabled() || nodes.isEmpty()) return;
+
+        LocalDate day = LocalDate.ofInstant(observedAt, ZoneOffset.UTC);
+        if (!knownPartitions.contains(day)) {
+            log.warn("Node history partition {} missing; snapshot of cluster {} not recorded", day, clusterId);
+            return;
+        }
+        observations.copyIn(clusterId, nodes, observedAt);
+    }
+
+    /**
+     * History of one node over the last {@code days}, oldest first.
+     *
+     * @param changesOnly collapse consecutive observations with identical values
+     */
+    @Transactional(readOnly = true)
+    public List<NodeObservationDto> timeline(String clusterName, String nodeName, int days, boolean changesOnly) {
+        if (days < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be >= 1");
+        }
+        ClusterEntity cluster = clusters.findByName(clusterName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown cluster: " + clusterName));
+
+        Instant to = Instant.now();
+        List<NodeObservationDto> rows = observations.findTimeline(
+                cluster.getId(), nodeName, to.minus(Duration.ofDays(days)), to);
+
+        if (!changesOnly) return rows;
+
+        List<NodeObservationDto> changes = new ArrayList<>();
+        NodeObservationDto prev = null;
+        for (NodeObservationDto r : rows) {
+            if (prev == null || !sameValues(prev, r)) changes.add(r);
+            prev = r;
+        }
+        return changes;
+    }
+
+    /** Create upcoming partitions and drop expired ones. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${oneinfra.clusters.history.maintenance-millis:3600000}")
+    public void maintainPartitions() {
+        if (!settings.isEnabled()) return;
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            for (int i = 0; i <= settings.getPartitionsAhead(); i++) {
+                ensurePartition(today.plusDays(i));
+            }
+
+            // A partition is expired when its whole day lies before the retention cutoff
+            LocalDate cutoff = LocalDate.ofInstant(Instant.now().minus(settings.getRetention()), ZoneOffset.UTC);
+            for (LocalDate day : observations.listPartitionDays()) {
+                if (day.isBefore(cutoff)) {
+                    observations.dropPartition(day);
+                    knownPartitions.remove(day);
+                    log.info("Dropped node history partition {}", day);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Node history partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /** Create a day's partition and commit it before marking the day as known. */
+    private void ensurePartition(LocalDate day) {
+        partitionTx.executeWithoutResult(status -> observations.createPartition(day));
+        knownPartitions.add(day);
+    }
+
+    private static boolean sameValues(NodeObservationDto a, NodeObservationDto b) {
+        return Objects.equals(a.getStatus(), b.getStatus())
+                && Objects.equals(a.getKubeVersion(), b.getKubeVersion())
+                && Objects.equals(a.getInternalIp(), b.getInternalIp())
+                && Objects.equals(a.getExternalIp(), b.getExternalIp());
+    }
+}
@@ -1,15 +1,35 @@
 package com.srikar.kubernetes.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srikar.kubernetes.api.Page;
+import com.srikar.kubernetes.api.Versioned;
+import com.srikar.kubernetes.cache.RenderedYamlCache;
+import com.srikar.kubernetes.cache.SingleFlight;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.dto.BulkDeleteResult;
 import com.srikar.kubernetes.dto.SecretDetail;
 import com.srikar.kubernetes.dto.SecretSummary;
 import com.srikar.kubernetes.dto.UpsertSecret;
+import com.srikar.kubernetes.utilities.Paging;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -18,15 +38,33 @@ import java.util.Map;
 @Service
 public class SecretService {
 
-    private final KubernetesClient client;
+    /** Server-side table rendering (what `kubectl get secrets` uses): Name, Type, Data, Age. */
+    private static final String TABLE_ACCEPT = "application/json;as=Table;v=v1;g=meta.k8s.io";
 
-    public SecretService(KubernetesClient client) {
-        this.client = client;
+    private final KubernetesClientRegistry clients;
+    private final ObjectMapper mapper;
+    private final ServerSideApplier applier;
+    private final CollectionDeleter deleter;
+    private final RenderedYamlCache yamlCache;
+    private final SingleFlight flight;
+    private final ClusterRateLimiter limiter;
+
+    public SecretService(KubernetesClientRegistry clients, ObjectMapper mapper, ServerSideApplier applier,
+                         CollectionDeleter deleter, RenderedYamlCache yamlCache, SingleFlight flight,
+                         ClusterRateLimiter limiter) {
+        this.clients = clients;
+        this.mapper = mapper;
+        this.applier = applier;
+        this.deleter = deleter;
+        this.yamlCache = yamlCache;
+        this.flight = flight;
+        this.limiter = limiter;
     }
 
     // ---- Helpers ------------------------------------------------------------
 
-    private static Map<String, String> b64Encode(Map<String, String> plain) {
+    // Package-private for SecretCodecBenchmark (src/jmh)
+    static Map<String, String> b64Encode(Map<String, String> plain) {
         if (plain == null) return Map.of();
         Base64.Encoder enc = Base64.getEncoder();
         Map<String, String> out = new LinkedHashMap<>();
@@ -35,7 +73,7 @@ public class SecretService {
         return out;
     }
 
-    private static Map<String, String> b64Decode(Map<String, String> b64) {
+    static Map<String, String> b64Decode(Map<String, String> b64) {
         if (b64 == null) return Map.of();
         Base64.Decoder dec = Base64.getDecoder();
         Map<String, String> out = new LinkedHashMap<>();
@@ -64,27 +102,105 @@ public class SecretService {
         return (type == null || type.isBlank()) ? "Opaque" : type;
     }
 
+    private static int columnIndex(JsonNode table, String column) {
+        JsonNode cols = table.path("columnDefinitions");
+        for (int i = 0; i < cols.size(); i++) {
+            if (column.equalsIgnoreCase(cols.get(i).path("name").asText())) return i;
+        }
+        return -1;
+    }
+
+    /** GET a list URL as a meta.k8s.io Table (rows + object metadata only, never the payload). */
+    private JsonNode getTable(KubernetesClient client, String url) {
+        HttpClient http = client.getHttpClient();
+        HttpRequest req = http.newHttpRequestBuilder()
+                .uri(url)
+                .header("Accept", TABLE_ACCEPT)
+                .build();
+
+        HttpResponse<String> resp;
+        try {
+            resp = http.sendAsync(req, String.class).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Secret list interrupted", e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Secret list failed: " + e.getMessage(), e);
+        }
+
+        if (!resp.isSuccessful()) {
+            throw new ResponseStatusException(HttpStatusCode.valueOf(resp.code()), "Secret list failed: " + resp.body());
+        }
+
+        try {
+            return mapper.readTree(resp.body());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Unreadable secret table: " + e.getMessage(), e);
+        }
+    }
+
     // ---- Operations ---------------------------------------------------------
 
-    /** List secrets (no values). */
-    public List<SecretSummary> list(String namespace) {
-        return client.secrets()
-                .inNamespace(namespace)
-                .list()
-                .getItems()
-                .stream()
-                .map(s -> SecretSummary.builder()
-                        .name(s.getMetadata().getName())
-                        .type(s.getType())
-                        .keyCount(s.getData() != null ? s.getData().size() : 0)
-                        .creationTimestamp(s.getMetadata().getCreationTimestamp())
-                        .build())
-                .toList();
+    /**
+     * List secrets (no values).
+     *
+     * Reads the server-side Table view instead of full Secret objects: the API server
+     * counts the keys ("Data" column) and returns only metadata, so no secret payload
+     * is transferred, deserialized or base64-handled by this service.
+     */
+    public List<SecretSummary> list(String cluster, String namespace) {
+        return list(cluster, namespace, null, null).getItems();
+    }
+
+    /** One page of secrets (limit / continue); a null limit returns all remaining items. */
+    public Page<SecretSummary> list(String cluster, String namespace, Integer limit, String continueToken) {
+        return flight.run(SingleFlight.Key.of(cluster, "secrets", namespace, limit, continueToken),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveList(cluster, namespace, limit, continueToken)));
+    }
+
+    private Page<SecretSummary> liveList(String cluster, String namespace, Integer limit, String continueToken) {
+        KubernetesClient client = clients.get(cluster);
+        StringBuilder url = new StringBuilder(URLUtils.join(client.getMasterUrl().toString(),
+                "api", "v1", "namespaces", namespace, "secrets"))
+                .append("?includeObject=Metadata");
+        if (Paging.checkLimit(limit) != null) {
+            url.append("&limit=").append(limit);
+        }
+        if (continueToken != null && !continueToken.isBlank()) {
+            url.append("&continue=").append(URLEncoder.encode(continueToken, StandardCharsets.UTF_8));
+        }
+
+        JsonNode table = getTable(client, url.toString());
+        int typeCol = columnIndex(table, "Type");
+        int dataCol = columnIndex(table, "Data");
+
+        List<SecretSummary> out = new ArrayList<>();
+        for (JsonNode row : table.path("rows")) {
+            JsonNode cells = row.path("cells");
+            JsonNode md = row.path("object").path("metadata");
+
+            out.add(SecretSummary.builder()
+                    .name(md.path("name").asText(cells.path(0).asText()))
+                    .type(typeCol >= 0 ? cells.path(typeCol).asText(null) : null)
+                    .keyCount(dataCol >= 0 ? cells.path(dataCol).asInt(0) : 0)
+                    .creationTimestamp(md.path("creationTimestamp").asText(null))
+                    .build());
+        }
+
+        String next = table.path("metadata").path("continue").asText("");
+        return Page.of(out, next.isEmpty() ? null : next);
     }
 
     /** Detail (plaintext values). Returns null if not found (controller can map to 404). */
-    public SecretDetail get(String namespace, String name) {
-        Secret s = client.secrets().inNamespace(namespace).withName(name).get();
+    public SecretDetail get(String cluster, String namespace, String name) {
+        return flight.run(SingleFlight.Key.of(cluster, "secret", namespace, name),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveGet(cluster, namespace, name)));
+    }
+
+    private SecretDetail liveGet(String cluster, String namespace, String name) {
+        Secret s = clients.get(cluster).secrets().inNamespace(namespace).withName(name).get();
         if (s == null) return null;
 
         ObjectMeta m = s.getMetadata();
@@ -99,7 +215,7 @@ public class SecretService {
     }
 
     /** Create from plaintext. */
-    public SecretDetail create(UpsertSecret req) {
+    public SecretDetail create(String cluster, UpsertSecret req) {
         Secret s = new Secret();
         s.setType(defaultType(req.getType()));
 
@@ -111,10 +227,10 @@ public class SecretService {
 
         s.setData(b64Encode(req.getData()));
 
-        Secret created = client.secrets()
+        Secret created = limiter.run(cluster, Lane.WRITE, () -> clients.get(cluster).secrets()
                 .inNamespace(req.getNamespace())
                 .resource(s)
-                .create();
+                .create());
 
         ObjectMeta cm = created.getMetadata();
         return SecretDetail.builder()
@@ -127,46 +243,58 @@ public class SecretService {
                 .build();
     }
 
-    /** Update (createOrReplace) from plaintext. Returns false if not found. */
-    public boolean update(String namespace, String name, UpsertSecret req) {
-        Secret existing = client.secrets().inNamespace(namespace).withName(name).get();
-        if (existing == null) return false;
-
+    /**
+     * Server-side apply from plaintext (one PATCH, creates the secret if missing).
+     * Type and labels are only sent when given, so values owned by others are kept; data (and
+     * labels, when given) replace the stored keys, see {@link ServerSideApplier#replace}.
+     */
+    public void update(String cluster, String namespace, String name, UpsertSecret req, ApplyOptions opts) {
         Secret s = new Secret();
-
-        String typeToUse =
-                (req.getType() == null || req.getType().isBlank())
-                        ? (existing.getType() != null ? existing.getType() : "Opaque")
-                        : req.getType();
-        s.setType(typeToUse);
+        if (req.getType() != null && !req.getType().isBlank()) {
+            s.setType(req.getType());
+        }
 
         ObjectMeta m = new ObjectMeta();
         m.setName(name);
         m.setNamespace(namespace);
-        m.setLabels(req.getLabels() != null ? req.getLabels() : existing.getMetadata().getLabels());
+        if (req.getLabels() != null) m.setLabels(req.getLabels());
         s.setMetadata(m);
 
         s.setData(b64Encode(req.getData()));
 
-        client.secrets().inNamespace(namespace).resource(s).createOrReplace();
-        return true;
+        String[] owned = (req.getLabels() != null)
+                ? new String[]{"f:data", "f:metadata/f:labels"}
+                : new String[]{"f:data"};
+        limiter.run(cluster, Lane.WRITE, () -> applier.replace(clients.get(cluster), namespace, s, opts, owned));
     }
 
-    /** Delete by name. */
-    public boolean delete(String namespace, String name) {
-        var res = client.secrets().inNamespace(namespace).withName(name);
-        if (res.get() == null) return false;
-        var details = res.delete();
+    /** Single DELETE; the client reports a 404 as an empty result. */
+    public boolean delete(String cluster, String namespace, String name) {
+        var details = limiter.run(cluster, Lane.WRITE,
+                () -> clients.get(cluster).secrets().inNamespace(namespace).withName(name).delete());
         return details != null && !details.isEmpty();
     }
 
-    /** YAML (values base64). */
-    public String asYaml(String namespace, String name) {
-        Secret s = client.secrets().inNamespace(namespace).withName(name).get();
+    /** Delete all secrets matching a label selector with one deletecollection call. */
+    public BulkDeleteResult deleteBySelector(String cluster, String namespace, String selector,
+                                             String propagationPolicy, boolean wait) {
+        return deleter.delete(cluster, CollectionDeleter.Kind.SECRETS,
+                namespace, selector, propagationPolicy, wait);
+    }
+
+    /** YAML (values base64) plus the resourceVersion it was rendered from (ETag); null if not found. */
+    public Versioned<String> asYaml(String cluster, String namespace, String name) {
+        return flight.run(SingleFlight.Key.of(cluster, "secret-yaml", namespace, name),
+                () -> limiter.run(cluster, Lane.INTERACTIVE,
+                        () -> liveYaml(cluster, namespace, name)));
+    }
+
+    private Versioned<String> liveYaml(String cluster, String namespace, String name) {
+        Secret s = clients.get(cluster).secrets().inNamespace(namespace).withName(name).get();
         if (s == null) return null;
 
         // Leave s.getData() as base64; scrub server-set fields for portability
-        scrubServerFields(s);
-        return Serialization.asYaml(s);
+        String rv = s.getMetadata().getResourceVersion();
+        return Versioned.of(yamlCache.render(s, SecretService::scrubServerFields), rv);
     }
 }
@@ -0,0 +1,230 @@
+package com.srikar.kubernetes.service;
+
+import com.srikar.kubernetes.dto.ApplyOptions;
+import com.srikar.kubernetes.properties.OneInfraApiProperties;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.ServerSideApplicable;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side apply (PATCH application/apply-patch+yaml) for all write paths.
+ *
+ * <p><b>Why:</b>
+ * <ul>
+ *   <li>One round trip; createOrReplace costs a GET plus a PUT of the whole object</li>
+ *   <li>Only the fields we send are owned by our field manager; fields set by other
+ *       controllers (HPA replicas, injected sidecars, ...) are left alone instead of
+ *       being overwritten or causing replace-conflict retries</li>
+ * </ul>
+ *
+ * <p>Conflicts with another manager's fields surface as 409 unless {@code force} is set;
+ * forcing is always opt-in per request, so fields of HPA and other controllers are never taken
+ * over by a plain write.
+ *
+ * <p><b>Merge semantics:</b>
+ * <ul>
+ *   <li>A field left out of an apply is deleted only if our manager owned it and no other
+ *       manager does; keys owned by anyone else are kept</li>
+ *   <li>{@code force} moves conflicting fields to our manager, so a later apply that drops
+ *       them deletes them</li>
+ *   <li>Objects written before apply (createOrReplace PUT, POST create) are owned by an
+ *       Update-operation manager ({@code legacy-managers}). {@link #replace} moves that
+ *       manager's ownership under the paths an endpoint replaces wholesale (ConfigMap data,
+ *       labels, ...) to our manager once and re-applies, so keys a user removed are
+ *       deleted as they were with PUT</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ServerSideApplier {
+
+    private static final String APPLY = "Apply";
+    private static final String UPDATE = "Update";
+
+    private final String defaultFieldManager;
+    private final Set<String> legacyManagers;
+
+    public ServerSideApplier(OneInfraApiProperties props) {
+        this.defaultFieldManager = props.getApply().getFieldManager();
+        this.legacyManagers = Set.copyOf(props.getApply().getLegacyManagers());
+    }
+
+    /** Apply {@code desired} in {@code namespace}; returns the object as stored (or as it would be, on dryRun). */
+    public <T extends HasMetadata> T apply(KubernetesClient client, String namespace, T desired, ApplyOptions opts) {
+        ApplyOptions o = (opts != null) ? opts : ApplyOptions.defaults();
+        return apply(client, namespace, desired, o, manager(o));
+    }
+
+    /**
+     * Apply for single-object "replace" endpoints: as {@link #apply}, then, if a legacy manager
+     * still owns fields under {@code ownedPaths} (fieldsV1 paths such as {@code f:data} or
+     * {@code f:metadata/f:labels}), moves them to our manager and applies once more so the
+     * fields the request left out are deleted. Dry runs skip the migration.
+     */
+    public <T extends HasMetadata> T replace(KubernetesClient client, String namespace, T desired,
+                                             ApplyOptions opts, String... ownedPaths) {
+        ApplyOptions o = (opts != null) ? opts : ApplyOptions.defaults();
+        String manager = manager(o);
+
+        T saved = apply(client, namespace, desired, o, manager);
+        if (o.dryRun() || legacyManagers.isEmpty() || !migrate(client, namespace, saved, manager, ownedPaths)) {
+            return saved;
+        }
+        return apply(client, namespace, desired, o, manager);
+    }
+
+    private <T extends HasMetadata> T apply(KubernetesClient client, String namespace, T desired,
+                                            ApplyOptions o, String manager) {
+        // Server-side apply rejects a request that carries managedFields; resourceVersion would
+        // turn the apply into an optimistic-lock update
+        desired.getMetadata().setManagedFields(null);
+        desired.getMetadata().setResourceVersion(null);
+
+        try {
+            ServerSideApplicable<T> op = client.resource(desired)
+                    .inNamespace(namespace)
+                    .dryRun(o.dryRun())
+                    .fieldManager(manager);
+            if (o.force()) {
+                op = op.forceConflicts();
+            }
+            return op.serverSideApply();
+
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HttpStatus.CONFLICT.value()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Apply conflicts with fields owned by another manager (retry with force=true): "
+                                + e.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    private String manager(ApplyOptions o) {
+        return (o.fieldManager() != null && !o.fieldManager().isBlank())
+                ? o.fieldManager()
+                : defaultFieldManager;
+    }
+
+    /**
+     * Rewrites managedFields of {@code saved} so {@code ownedPaths} of legacy Update entries belong
+     * to our Apply entry. JSON patch guarded by resourceVersion; a concurrent write skips the
+     * migration (the next replace retries it). Returns true if managedFields were changed.
+     */
+    private boolean migrate(KubernetesClient client, String namespace, HasMetadata saved,
+                            String manager, String... ownedPaths) {
+        List<ManagedFieldsEntry> entries = saved.getMetadata().getManagedFields();
+        if (entries == null || entries.isEmpty() || ownedPaths.length == 0) {
+            return false;
+        }
+
+        ManagedFieldsEntry ours = null;
+        for (ManagedFieldsEntry e : entries) {
+            if (manager.equals(e.getManager()) && APPLY.equals(e.getOperation()) && e.getSubresource() == null) {
+                ours = e;
+            }
+        }
+        if (ours == null || ours.getFieldsV1() == null) {
+            return false;
+        }
+
+        boolean moved = false;
+        List<ManagedFieldsEntry> rewritten = new ArrayList<>(entries.size());
+        for (ManagedFieldsEntry e : entries) {
+            if (isLegacy(e) && e.getFieldsV1() != null) {
+                for (String path : ownedPaths) {
+                    moved |= move(e.getFieldsV1().getAdditionalProperties(),
+                            ours.getFieldsV1().getAdditionalProperties(), path.split("/"), 0);
+                }
+                if (e.getFieldsV1().getAdditionalProperties().isEmpty()) {
+                    continue;
+                }
+            }
+            rewritten.add(e);
+        }
+        if (!moved) {
+            return false;
+        }
+
+        String patch = Serialization.asJson(List.of(
+                Map.of("op", "test", "path", "/metadata/resourceVersion",
+                        "value", saved.getMetadata().getResourceVersion()),
+                Map.of("op", "replace", "path", "/metadata/managedFields", "value", rewritten)));
+        try {
+            client.resource(saved).inNamespace(namespace).patch(PatchContext.of(PatchType.JSON), patch);
+            return true;
+        } catch (KubernetesClientException e) {
+            log.debug("Ownership migration of {}/{} skipped: {}", namespace, saved.getMetadata().getName(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isLegacy(ManagedFieldsEntry e) {
+        return UPDATE.equals(e.getOperation())
+                && e.getSubresource() == null
+                && e.getManager() != null
+                && legacyManagers.contains(e.getManager());
+    }
+
+    /** Moves the subtree at {@code path} from {@code from} into {@code to}, pruning emptied parents. */
+    @SuppressWarnings("unchecked")
+    static boolean move(Map<String, Object> from, Map<String, Object> to, String[] path, int depth) {
+        Object sub = from.get(path[depth]);
+        if (!(sub instanceof Map) || (depth < path.length - 1 && !contains((Map<String, Object>) sub, path, depth + 1))) {
+            return false;
+        }
+        Object target = to.computeIfAbsent(path[depth], k -> new LinkedHashMap<String, Object>());
+        if (!(target instanceof Map)) {
+            return false;
+        }
+
+        boolean moved;
+        if (depth == path.length - 1) {
+            merge((Map<String, Object>) sub, (Map<String, Object>) target);
+            from.remove(path[depth]);
+            moved = true;
+        } else {
+            moved = move((Map<String, Object>) sub, (Map<String, Object>) target, path, depth + 1);
+            if (((Map<String, Object>) sub).isEmpty()) {
+                from.remove(path[depth]);
+            }
+        }
+        return moved;
+    }
+
+    /** True if {@code fields} has a (map) entry at every step of {@code path} from {@code depth} on. */
+    @SuppressWarnings("unchecked")
+    static boolean contains(Map<String, Object> fields, String[] path, int depth) {
+        Object sub = fields.get(path[depth]);
+        return (sub instanceof Map) && (depth == path.length - 1 || contains((Map<String, Object>) sub, path, depth + 1));
+    }
+
+    /** Adds the fields of {@code from} missing in {@code to}, recursing into maps both have. */
+    @SuppressWarnings("unchecked")
+    static void merge(Map<String, Object> from, Map<String, Object> to) {
+        from.forEach((k, v) -> {
+            Object existing = to.get(k);
+            if (v instanceof Map && existing instanceof Map) {
+                merge((Map<String, Object>) v, (Map<String, Object>) existing);
+            } else if (existing == null) {
+                to.put(k, v);
+            }
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package com.srikar.kubernetes.utilities;
 
 import com.srikar.kubernetes.api.ApiResponse;
+import com.srikar.kubernetes.api.Page;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * Utility class to build standardized API response envelopes
@@ -51,6 +53,33 @@ public final class ApiResponses {
                 .build();
     }
 
+    /**
+     * Build a successful API response for one page of a list.
+     *
+     * Use this when:
+     * - The client passed ?limit= and/or ?continue=
+     * - The page's continue token must reach the client (absent on the last page)
+     *
+     * Typical usage:
+     * return ResponseEntity.ok(
+     *     ApiResponses.page("Pods fetched successfully", kube.listPods(ns, limit, cont))
+     * );
+     *
+     * @param message Human-readable success message for UI/logging
+     * @param page    Items of this page + continue token
+     * @param <T>     Type of list item
+     * @return standardized ApiResponse with success=true and continueToken set
+     */
+    public static <T> ApiResponse<List<T>> page(String message, Page<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .message(message)
+                .data(page.getItems())
+                .continueToken(page.getContinueToken())
+                .timestamp(ZonedDateTime.now())
+                .build();
+    }
+
     /**
      * Build a failure API response.
      *
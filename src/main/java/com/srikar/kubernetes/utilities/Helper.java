@@ -5,12 +5,9 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
-import io.fabric8.kubernetes.client.KubernetesClient;
 
 import java.net.InetAddress;
 import java.time.Instant;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
@@ -20,16 +17,6 @@ public final class Helper {
 
     private Helper() {}
 
-    /** Lightweight health probe for Kubernetes connectivity */
-    public static boolean isClusterHealthy(KubernetesClient client) {
-        try {
-            client.namespaces().list();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     /** Extract and sort namespace names */
     public static List<String> extractNamespaceNames(List<Namespace> namespaces) {
         return namespaces.stream()
@@ -38,18 +25,10 @@ public final class Helper {
                 .toList();
     }
 
-    /** Parse RFC3339 / ISO timestamps safely to Instant */
+    /** Parse Kubernetes RFC3339 timestamps to Instant; null when absent or malformed (see {@link Rfc3339}) */
     public static Instant parseToInstant(String rfc3339) {
-        if (rfc3339 == null || rfc3339.isBlank()) return null;
-        try {
-            return OffsetDateTime.parse(rfc3339).toInstant();
-        } catch (DateTimeParseException e) {
-            try {
-                return Instant.parse(rfc3339);
-            } catch (DateTimeParseException ignored) {
-                return null;
-            }
-        }
+        long sec = Rfc3339.parseEpochSecond(rfc3339);
+        return (sec == Rfc3339.INVALID) ? null : Instant.ofEpochSecond(sec, Rfc3339.parseNano(rfc3339));
     }
 
     /** Kubernetes creationTimestamp → Instant */
@@ -59,17 +38,22 @@ public final class Helper {
 
     /** Format age similar to kubectl: 10m, 2h, 5d */
     public static String fmtAge(String creationTs) {
-        if (creationTs == null || creationTs.isBlank()) return "—";
-        try {
-            Instant created = OffsetDateTime.parse(creationTs).toInstant();
-            long mins = created.until(Instant.now(), ChronoUnit.MINUTES);
-            if (mins < 60) return mins + "m";
-            long hours = mins / 60;
-            if (hours < 48) return hours + "h";
-            return (hours / 24) + "d";
-        } catch (Exception e) {
-            return "—";
-        }
+        long created = Rfc3339.parseEpochSecond(creationTs);
+        if (created == Rfc3339.INVALID) return "—";
+        return fmtAgeMinutes((Instant.now().getEpochSecond() - created) / 60);
+    }
+
+    /** Format age of an already-parsed creation instant (no parsing per call) */
+    public static String fmtAge(Instant created) {
+        if (created == null) return "—";
+        return fmtAgeMinutes(created.until(Instant.now(), ChronoUnit.MINUTES));
+    }
+
+    private static String fmtAgeMinutes(long mins) {
+        if (mins < 60) return mins + "m";
+        long hours = mins / 60;
+        if (hours < 48) return hours + "h";
+        return (hours / 24) + "d";
     }
 
     /** Null/blank safe fallback */
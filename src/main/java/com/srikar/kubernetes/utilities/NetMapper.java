@@ -0,0 +1,105 @@
+package com.srikar.kubernetes.utilities;
+
+import com.srikar.kubernetes.dto.IngressSummary;
+import com.srikar.kubernetes.dto.ServiceSummary;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service / Ingress → UI rows.
+ *
+ * Rows carry the parsed creation instant instead of a pre-formatted age,
+ * so they can be cached and still report a current age when serialized.
+ */
+public final class NetMapper {
+
+    private static final String DASH = "—";
+
+    private NetMapper() {}
+
+    public static ServiceSummary toServiceSummary(Service svc) {
+        var md = svc.getMetadata();
+        var spec = svc.getSpec();
+
+        String name = (md != null) ? md.getName() : null;
+
+        String clusterIpStr =
+                (spec != null && spec.getClusterIPs() != null && !spec.getClusterIPs().isEmpty())
+                        ? String.join(", ", spec.getClusterIPs())
+                        : Helper.nullToDash(spec != null ? spec.getClusterIP() : null);
+
+        String type =
+                (spec == null || spec.getType() == null || spec.getType().isBlank())
+                        ? "ClusterIP"
+                        : spec.getType();
+
+        return ServiceSummary.builder()
+                .name(name)
+                .type(type)
+                .clusterIP(clusterIpStr)
+                .ports(spec != null ? Helper.fmtPorts(svc) : DASH)
+                .age(DASH)
+                .createdAt(createdAt(md))
+                .build();
+    }
+
+    /** One row per rule (or a single "/" row when the Ingress has no rules). */
+    public static List<IngressSummary> toIngressRows(Ingress ing) {
+        var md = ing.getMetadata();
+        var spec = ing.getSpec();
+
+        String name = (md != null) ? md.getName() : null;
+        Instant created = createdAt(md);
+
+        boolean tls = spec != null && spec.getTls() != null && !spec.getTls().isEmpty();
+        String clazz = (spec != null && spec.getIngressClassName() != null)
+                ? spec.getIngressClassName()
+                : DASH;
+
+        var rules = (spec != null) ? spec.getRules() : null;
+
+        if (rules == null || rules.isEmpty()) {
+            return List.of(buildIngress(name, DASH, tls, clazz, List.of("/"), created));
+        }
+
+        return rules.stream().map(r -> {
+            String host = (r.getHost() != null) ? r.getHost() : DASH;
+
+            List<String> paths =
+                    (r.getHttp() != null && r.getHttp().getPaths() != null)
+                            ? r.getHttp().getPaths().stream()
+                            .map(p -> p.getPath() != null ? p.getPath() : "/")
+                            .toList()
+                            : List.of("/");
+
+            return buildIngress(name, host, tls, clazz, paths, created);
+        }).toList();
+    }
+
+    private static IngressSummary buildIngress(
+            String name,
+            String host,
+            boolean tls,
+            String clazz,
+            List<String> paths,
+            Instant created
+    ) {
+        return IngressSummary.builder()
+                .name(name)
+                .host(host)
+                .tls(tls)
+                .clazz(clazz)
+                .paths(paths)
+                .age(DASH)
+                .createdAt(created)
+                .build();
+    }
+
+    private static Instant createdAt(ObjectMeta md) {
+        return (md != null) ? Helper.parseK8sCreationTimestamp(md.getCreationTimestamp()) : null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.srikar.kubernetes.utilities;
+
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Helpers for ?limit= / ?continue= list paging.
+ *
+ * Two kinds of continue tokens exist:
+ * - API server tokens (opaque, passed straight through to Fabric8 ListOptions)
+ * - cache tokens ("c1." + base64url(last name)) issued when a page is served
+ *   from an informer cache, whose rows are ordered by name
+ *
+ * Database-backed inventory lists use keyset tokens ("k1." + base64url(last name + '/' + last id))
+ * over rows ordered by (name, id).
+ */
+public final class Paging {
+
+    private static final String CACHE_TOKEN_PREFIX = "c1.";
+    private static final String KEYSET_TOKEN_PREFIX = "k1.";
+
+    /** Inventory (database) pages: default and max page size. */
+    public static final int DEFAULT_KEYSET_LIMIT = 100;
+    public static final int MAX_KEYSET_LIMIT = 1000;
+
+    /** Position after the last row of a keyset page (ordered by name, then id). */
+    public record Keyset(String name, UUID id) {}
+
+    private Paging() {}
+
+    /** True if the caller asked for paging at all (otherwise return the full list). */
+    public static boolean isRequested(Integer limit, String continueToken) {
+        return limit != null || (continueToken != null && !continueToken.isBlank());
+    }
+
+    /** Fabric8 ListOptions for an API server page; validates limit. */
+    public static ListOptions listOptions(Integer limit, String continueToken) {
+        Integer checked = checkLimit(limit);
+        return new ListOptionsBuilder()
+                .withLimit(checked != null ? Long.valueOf(checked) : null)
+                .withContinue(blankToNull(continueToken))
+                .build();
+    }
+
+    /** Continue token of an API server list response; null when this was the last page. */
+    public static String next(ListMeta meta) {
+        return (meta != null) ? blankToNull(meta.getContinue()) : null;
+    }
+
+    public static Integer checkLimit(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be >= 1");
+        }
+        return limit;
+    }
+
+    public static boolean isCacheToken(String token) {
+        return token != null && token.startsWith(CACHE_TOKEN_PREFIX);
+    }
+
+    public static String cacheToken(String lastName) {
+        return CACHE_TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Name after which a cache page starts; null for the first page. */
+    public static String afterName(String cacheToken) {
+        if (!isCacheToken(cacheToken)) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cacheToken.substring(CACHE_TOKEN_PREFIX.length())),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed continue token");
+        }
+    }
+
+    /** Validated keyset page size: default when absent, 400 outside 1..MAX_KEYSET_LIMIT. */
+    public static int keysetLimit(Integer limit) {
+        checkLimit(limit);
+        if (limit == null) return DEFAULT_KEYSET_LIMIT;
+        if (limit > MAX_KEYSET_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be <= " + MAX_KEYSET_LIMIT);
+        }
+        return limit;
+    }
+
+    public static String keysetToken(String lastName, UUID lastId) {
+        // The UUID is fixed-length, so the name may contain any character
+        return KEYSET_TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lastName + "/" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Keyset position of a continue token; null for the first page, 400 if malformed. */
+    public static Keyset keyset(String token) {
+        String t = blankToNull(token);
+        if (t == null) return null;
+        try {
+            if (!t.startsWith(KEYSET_TOKEN_PREFIX)) throw new IllegalArgumentException();
+            String raw = new String(Base64.getUrlDecoder().decode(t.substring(KEYSET_TOKEN_PREFIX.length())),
+                    StandardCharsets.UTF_8);
+            int sep = raw.length() - 37;
+            if (sep < 0 || raw.charAt(sep) != '/') throw new IllegalArgumentException();
+            return new Keyset(raw.substring(0, sep), UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed continue token");
+        }
+    }
+
+    /** A cache token can only be resumed while the cache is serving (API server answers 410 likewise). */
+    public static ResponseStatusException expired() {
+        return new ResponseStatusException(HttpStatus.GONE, "Continue token expired; restart the list");
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s;
+    }
+}
@@ -0,0 +1,150 @@
+package com.srikar.kubernetes.utilities;
+
+/**
+ * Allocation-free parser for the RFC 3339 timestamps the Kubernetes API emits.
+ *
+ * <p><b>Accepted grammar</b> (the subset of ISO-8601 that {@code OffsetDateTime.parse} also accepts):
+ * <pre>
+ *   YYYY-MM-DD ('T'|'t') hh:mm:ss [ '.' 1*9DIGIT ] ('Z'|'z'| ('+'|'-') hh:mm)
+ * </pre>
+ * which covers metav1.Time ({@code 2024-01-01T10:00:00Z}), metav1.MicroTime
+ * ({@code 2024-01-01T10:00:00.123456Z}) and explicit offsets.
+ *
+ * <p><b>Important design notes:</b>
+ * <ul>
+ *   <li>No exceptions and no intermediate objects: invalid input yields {@link #INVALID}</li>
+ *   <li>Validation matches java.time's STRICT resolver: calendar dates (incl. leap years),
+ *       hour 0-23, second 0-59 (no leap seconds), offsets up to ±18:00</li>
+ *   <li>Forms java.time tolerates but the API server never produces (no seconds,
+ *       "+hh:mm:ss" offsets, "." without digits) are rejected</li>
+ * </ul>
+ */
+public final class Rfc3339 {
+
+    /** Returned for input outside the grammar; not a representable epoch second of 0000-9999. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+
+    private Rfc3339() {}
+
+    /** Epoch second of {@code s} (fraction truncated), or {@link #INVALID}. */
+    public static long parseEpochSecond(CharSequence s) {
+        if (s == null) return INVALID;
+        int len = s.length();
+        if (len < 20) return INVALID;
+
+        int year = digits4(s, 0);
+        int month = digits2(s, 5);
+        int day = digits2(s, 8);
+        int hour = digits2(s, 11);
+        int minute = digits2(s, 14);
+        int second = digits2(s, 17);
+        if ((year | month | day | hour | minute | second) < 0) return INVALID;
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(13) != ':' || s.charAt(16) != ':') return INVALID;
+
+        char t = s.charAt(10);
+        if (t != 'T' && t != 't') return INVALID;
+
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) return INVALID;
+        if (hour > 23 || minute > 59 || second > 59) return INVALID;
+
+        int pos = 19;
+        if (s.charAt(pos) == '.') {
+            int end = fractionEnd(s, pos + 1);
+            if (end < 0) return INVALID;
+            pos = end;
+        }
+        if (pos >= len) return INVALID;
+
+        int offsetSeconds;
+        char z = s.charAt(pos);
+        if (z == 'Z' || z == 'z') {
+            if (pos + 1 != len) return INVALID;
+            offsetSeconds = 0;
+        } else if (z == '+' || z == '-') {
+            if (pos + 6 != len || s.charAt(pos + 3) != ':') return INVALID;
+            int oh = digits2(s, pos + 1);
+            int om = digits2(s, pos + 4);
+            if ((oh | om) < 0 || om > 59) return INVALID;
+            offsetSeconds = oh * 3600 + om * 60;
+            if (offsetSeconds > MAX_OFFSET_SECONDS) return INVALID;
+            if (z == '-') offsetSeconds = -offsetSeconds;
+        } else {
+            return INVALID;
+        }
+
+        return daysFromCivil(year, month, day) * 86_400L
+                + hour * 3600L + minute * 60L + second
+                - offsetSeconds;
+    }
+
+    /**
+     * Nano-of-second of the fraction of a timestamp already accepted by
+     * {@link #parseEpochSecond}; 0 when it has none.
+     */
+    public static int parseNano(CharSequence s) {
+        if (s == null || s.length() < 20 || s.charAt(19) != '.') return 0;
+        int nanos = 0;
+        int digits = 0;
+        for (int i = 20; i < s.length() && digits < 9; i++, digits++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) break;
+            nanos = nanos * 10 + d;
+        }
+        for (; digits < 9; digits++) nanos *= 10;
+        return nanos;
+    }
+
+    // ---- Internals ----------------------------------------------------------
+
+    /** Index after 1-9 fraction digits starting at {@code from}, or -1. */
+    private static int fractionEnd(CharSequence s, int from) {
+        int i = from;
+        int len = s.length();
+        while (i < len && i - from < 10) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') break;
+            i++;
+        }
+        int n = i - from;
+        return (n >= 1 && n <= 9) ? i : -1;
+    }
+
+    private static int digits2(CharSequence s, int at) {
+        if (at + 2 > s.length()) return -1;
+        int a = s.charAt(at) - '0';
+        int b = s.charAt(at + 1) - '0';
+        if (a < 0 || a > 9 || b < 0 || b > 9) return -1;
+        return a * 10 + b;
+    }
+
+    private static int digits4(CharSequence s, int at) {
+        int hi = digits2(s, at);
+        int lo = digits2(s, at + 2);
+        return (hi < 0 || lo < 0) ? -1 : hi * 100 + lo;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /** Days since 1970-01-01 of a proleptic Gregorian date (H. Hinnant's days_from_civil). */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = (month <= 2) ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int mp = (month + 9) % 12;
+        int doy = (153 * mp + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097L + doe - 719_468L;
+    }
+}
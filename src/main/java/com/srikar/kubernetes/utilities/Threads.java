@@ -0,0 +1,27 @@
+package com.srikar.kubernetes.utilities;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the app's own worker pools.
+ *
+ * In virtual-thread mode (spring.threads.virtual.enabled) pool threads are virtual, so work that
+ * blocks on Kubernetes / database I/O does not hold a carrier; the pool size still bounds concurrency.
+ */
+public final class Threads {
+
+    private Threads() {}
+
+    public static ThreadFactory factory(String name, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name + "-", 0).factory();
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
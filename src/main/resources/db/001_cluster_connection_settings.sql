@@ -0,0 +1,5 @@
+-- Per-cluster connection settings used by KubernetesClientRegistry.
+-- Applied manually (spring.sql.init.mode=never, hibernate ddl-auto=none).
+ALTER TABLE iaas_kubernetes.clusters
+    ADD COLUMN IF NOT EXISTS kube_context   varchar(200),
+    ADD COLUMN IF NOT EXISTS api_server_url varchar(500);
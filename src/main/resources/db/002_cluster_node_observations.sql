@@ -0,0 +1,21 @@
+-- Append-only node history written on every inventory refresh (NodeHistoryService).
+-- Applied manually (spring.sql.init.mode=never, hibernate ddl-auto=none).
+-- Daily partitions are created by the application ahead of time and dropped after
+-- oneinfra.clusters.history.retention; nothing is ever UPDATEd or DELETEd row by row.
+CREATE TABLE IF NOT EXISTS iaas_kubernetes.cluster_node_observations (
+    cluster_id        uuid         NOT NULL,
+    node_name         varchar(200) NOT NULL,
+    observed_at       timestamptz  NOT NULL,
+    status            varchar(50),
+    kube_version      varchar(50),
+    internal_ip       inet,
+    external_ip       inet,
+    os_image          varchar(300),
+    kernel_version    varchar(100),
+    container_runtime varchar(200)
+) PARTITION BY RANGE (observed_at);
+
+-- "timeline of node X over N days" is an index-only scan
+CREATE INDEX IF NOT EXISTS ix_cno_cluster_node_time
+    ON iaas_kubernetes.cluster_node_observations (cluster_id, node_name, observed_at)
+    INCLUDE (status, kube_version, internal_ip, external_ip);
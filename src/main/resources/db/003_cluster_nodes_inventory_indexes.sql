@@ -0,0 +1,17 @@
+-- Composite indexes for the keyset-paginated inventory API (InventoryQueryRepository).
+-- Applied manually (spring.sql.init.mode=never, hibernate ddl-auto=none).
+-- Each index serves "where cluster_id = ? [and <filter> = ?] and (node_name, id) > (?, ?)
+-- order by node_name, id limit n" as a single range scan, whatever the page number.
+-- Clusters are paged by (cluster_name, id); the unique uk_cluster_name index covers that.
+CREATE INDEX IF NOT EXISTS ix_cluster_nodes_cluster_name_id
+    ON iaas_kubernetes.cluster_nodes (cluster_id, node_name, id);
+
+CREATE INDEX IF NOT EXISTS ix_cluster_nodes_cluster_status
+    ON iaas_kubernetes.cluster_nodes (cluster_id, status, node_name, id);
+
+CREATE INDEX IF NOT EXISTS ix_cluster_nodes_cluster_version
+    ON iaas_kubernetes.cluster_nodes (cluster_id, kube_version, node_name, id);
+
+CREATE INDEX IF NOT EXISTS ix_cluster_nodes_cluster_cp
+    ON iaas_kubernetes.cluster_nodes (cluster_id, is_control_plane, node_name, id);
+
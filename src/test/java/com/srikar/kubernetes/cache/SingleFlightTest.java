@@ -0,0 +1,195 @@
+package com.srikar.kubernetes.cache;
+
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.properties.OneInfraCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** SingleFlight: one upstream call per key in flight, shared result or exception, no caching. */
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 4;
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private MeterRegistry meters;
+    private SingleFlight flight;
+
+    @BeforeEach
+    void setUp() {
+        meters = new SimpleMeterRegistry();
+        flight = newFlight(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void followersShareTheLeadersResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Key key = SingleFlight.Key.of("c1", "pods", "ns", 100, null);
+
+        List<Future<Object>> results = startConcurrent(key, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return new Object();
+        }, key);
+        release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> r : results) {
+            assertSame(first, r.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException boom = new IllegalStateException("upstream failed");
+        SingleFlight.Key key = SingleFlight.Key.of("c1", "configmap", "ns", "name");
+
+        List<Future<Object>> results = startConcurrent(key, () -> {
+            await(release);
+            throw boom;
+        }, key);
+        release.countDown();
+
+        for (Future<Object> r : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> r.get(5, TimeUnit.SECONDS));
+            assertSame(boom, e.getCause());
+        }
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void keyIsReleasedAfterFailure() {
+        SingleFlight.Key key = SingleFlight.Key.of("c1", "secret", "ns", "name");
+
+        assertThrows(IllegalStateException.class, () -> flight.run(key, () -> {
+            throw new IllegalStateException("first call fails");
+        }));
+        assertEquals("fresh", flight.run(key, () -> "fresh"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void nullBlankAndDefaultNameAreOneCluster() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = startConcurrent(SingleFlight.Key.of(null, "namespaces", null), () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "namespaces";
+        }, SingleFlight.Key.of("default", "namespaces", null), SingleFlight.Key.of(" ", "namespaces", null));
+        release.countDown();
+
+        for (Future<Object> r : results) {
+            assertEquals("namespaces", r.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(2 * FOLLOWERS, meters.get("oneinfra.coalesce.calls")
+                .tags("cluster", "default", "role", "follower").counter().count());
+    }
+
+    @Test
+    void disabledRunsEveryCall() {
+        SingleFlight off = newFlight(false);
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlight.Key key = SingleFlight.Key.of("c1", "pods", "ns");
+
+        off.run(key, calls::incrementAndGet);
+        off.run(key, calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /**
+     * Starts a leader on {@code leaderKey}, waits until it is inside {@code call}, then starts
+     * {@link #FOLLOWERS} callers per follower key and waits until each has joined the flight.
+     */
+    private List<Future<Object>> startConcurrent(SingleFlight.Key leaderKey, Supplier<Object> call,
+                                                 SingleFlight.Key... followerKeys) throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(pool.submit(() -> flight.run(leaderKey, () -> {
+            entered.countDown();
+            return call.get();
+        })));
+        assertTrue(entered.await(5, TimeUnit.SECONDS), "leader did not start");
+
+        // Followers never run call; they would fail the test by counting as extra calls
+        for (SingleFlight.Key key : followerKeys) {
+            for (int i = 0; i < FOLLOWERS; i++) {
+                results.add(pool.submit(() -> flight.run(key, call)));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (followers() < (long) FOLLOWERS * followerKeys.length) {
+            assertTrue(System.nanoTime() < deadline, "followers did not join the flight");
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    private SingleFlight newFlight(boolean enabled) {
+        OneInfraCacheProperties props = new OneInfraCacheProperties();
+        props.getCoalesce().setEnabled(enabled);
+
+        KubernetesClientRegistry clients = mock(KubernetesClientRegistry.class);
+        when(clients.getDefaultName()).thenReturn("default");
+        when(clients.isDefault(any())).thenAnswer(inv -> {
+            String cluster = inv.getArgument(0);
+            return cluster == null || cluster.isBlank() || cluster.equals("default");
+        });
+        return new SingleFlight(props, clients, meters);
+    }
+
+    private double followers() {
+        return meters.find("oneinfra.coalesce.calls").tag("role", "follower").counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+
+    private double inFlight() {
+        return meters.get("oneinfra.coalesce.in.flight").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("not released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
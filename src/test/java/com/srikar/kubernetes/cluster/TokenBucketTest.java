@@ -0,0 +1,108 @@
+package com.srikar.kubernetes.cluster;
+
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.Lane;
+import com.srikar.kubernetes.cluster.ClusterRateLimiter.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** TokenBucket: burst, rate, timeout and lane priority. */
+class TokenBucketTest {
+
+    @Test
+    void burstIsAvailableWithoutWaiting() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.acquire(Lane.INTERACTIVE, now), "token " + i + " of the burst");
+        }
+        assertFalse(bucket.acquire(Lane.INTERACTIVE, System.nanoTime()), "burst exhausted");
+    }
+
+    @Test
+    void timesOutWhenNoTokenArrivesBeforeTheDeadline() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertTrue(bucket.acquire(Lane.WRITE, System.nanoTime()));
+
+        long start = System.nanoTime();
+        assertFalse(bucket.acquire(Lane.WRITE, start + TimeUnit.MILLISECONDS.toNanos(50)));
+
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 40 && waitedMs < 900, "waited " + waitedMs + " ms");
+    }
+
+    @Test
+    void waitsForTheNextTokenAtTheConfiguredRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 1);
+        bucket.drain();
+
+        long start = System.nanoTime();
+        assertTrue(bucket.acquire(Lane.BACKGROUND, start + TimeUnit.SECONDS.toNanos(5)));
+
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(waitedMs >= 30 && waitedMs < 1000, "waited " + waitedMs + " ms for a 50 ms token");
+    }
+
+    @Test
+    void drainDropsTheRemainingBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 5);
+        bucket.drain();
+
+        assertFalse(bucket.acquire(Lane.INTERACTIVE, System.nanoTime()));
+    }
+
+    @Test
+    void higherLanesAreServedFirst() throws InterruptedException {
+        // 100 ms per token and no burst left: all waiters are queued before the first token
+        TokenBucket bucket = new TokenBucket(10, 1);
+        bucket.drain();
+
+        List<Lane> served = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        // Background waiters queue first; interactive ones still go ahead of them
+        List<Thread> threads = new ArrayList<>();
+        threads.addAll(startWaiting(bucket, Lane.BACKGROUND, 5, deadline, served));
+        threads.addAll(startWaiting(bucket, Lane.INTERACTIVE, 5, deadline, served));
+
+        for (Thread t : threads) {
+            t.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<Lane> expected = new ArrayList<>();
+        expected.addAll(Collections.nCopies(5, Lane.INTERACTIVE));
+        expected.addAll(Collections.nCopies(5, Lane.BACKGROUND));
+        assertEquals(expected, served);
+    }
+
+    /** Starts {@code count} threads acquiring in {@code lane} and returns once all of them wait. */
+    private static List<Thread> startWaiting(TokenBucket bucket, Lane lane, int count, long deadline,
+                                             List<Lane> served) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    if (bucket.acquire(lane, deadline)) served.add(lane);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "bucket-" + lane + "-" + i);
+            t.start();
+            threads.add(t);
+        }
+        for (Thread t : threads) {
+            while (t.getState() != Thread.State.TIMED_WAITING && t.isAlive()) {
+                Thread.onSpinWait();
+            }
+        }
+        return threads;
+    }
+}
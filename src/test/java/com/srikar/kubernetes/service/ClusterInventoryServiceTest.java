@@ -0,0 +1,144 @@
+package com.srikar.kubernetes.service;
+
+import com.srikar.kubernetes.cluster.ClusterRateLimiter;
+import com.srikar.kubernetes.cluster.KubernetesClientRegistry;
+import com.srikar.kubernetes.db.ClusterNodeRepository;
+import com.srikar.kubernetes.db.ClusterRepository;
+import com.srikar.kubernetes.db.InventoryQueryRepository;
+import com.srikar.kubernetes.entity.ClusterEntity;
+import com.srikar.kubernetes.entity.ClusterNodeEntity;
+import com.srikar.kubernetes.properties.OneInfraClusterProperties;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeBuilder;
+import io.fabric8.kubernetes.api.model.NodeList;
+import io.fabric8.kubernetes.api.model.NodeListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** upsertClusterFromK8s: registration of unknown clusters and the LIST outside the transaction. */
+class ClusterInventoryServiceTest {
+
+    private static final String CLUSTER = "edge-1";
+
+    private final KubernetesClientRegistry clients = mock(KubernetesClientRegistry.class);
+    private final ClusterRateLimiter limiter = mock(ClusterRateLimiter.class);
+    private final ClusterRepository clusterRepo = mock(ClusterRepository.class);
+    private final ClusterNodeRepository nodeRepo = mock(ClusterNodeRepository.class);
+    private final NodeHistoryService history = mock(NodeHistoryService.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    /** The clusters table, as far as the registry and the service can see it. */
+    private final AtomicReference<ClusterEntity> row = new AtomicReference<>();
+
+    private ClusterInventoryService inventory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(txManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        when(limiter.run(anyString(), any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(2)).get());
+
+        when(clusterRepo.findByName(CLUSTER)).thenAnswer(inv -> Optional.ofNullable(row.get()));
+        when(clusterRepo.findById(any())).thenAnswer(inv -> Optional.ofNullable(row.get())
+                .filter(c -> c.getId().equals(inv.getArgument(0))));
+        when(clusterRepo.save(any())).thenAnswer(inv -> {
+            row.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        // Like KubernetesClientRegistry.create: unknown names are a 404, rows without connection
+        // settings resolve to the default client
+        KubernetesClient client = mock(KubernetesClient.class);
+        NonNamespaceOperation<Node, NodeList, Resource<Node>> nodes = mock(NonNamespaceOperation.class);
+        when(client.nodes()).thenReturn(nodes);
+        when(nodes.list()).thenReturn(new NodeListBuilder().addToItems(node("worker-1", "10.0.0.11")).build());
+        when(clients.get(CLUSTER)).thenAnswer(inv -> {
+            if (row.get() == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown cluster: " + CLUSTER);
+            }
+            return client;
+        });
+
+        inventory = new ClusterInventoryService(clients, limiter, clusterRepo, nodeRepo, history,
+                new OneInfraClusterProperties(), mock(InventoryQueryRepository.class),
+                new TransactionTemplate(txManager));
+    }
+
+    @Test
+    void firstRefreshRegistersTheClusterBeforeListingItsNodes() {
+        ClusterEntity saved = inventory.upsertClusterFromK8s(CLUSTER);
+
+        assertEquals(CLUSTER, saved.getName());
+
+        InOrder order = inOrder(clusterRepo, clients);
+        order.verify(clusterRepo).save(any());
+        order.verify(clients).get(CLUSTER);
+
+        List<ClusterNodeEntity> added = savedNodes();
+        assertEquals(1, added.size());
+        assertEquals("worker-1", added.get(0).getNodeName());
+        assertEquals(saved.getId(), added.get(0).getCluster().getId());
+    }
+
+    @Test
+    void knownClusterIsNotRegisteredAgain() {
+        Instant created = Instant.parse("2024-01-01T00:00:00Z");
+        ClusterEntity existing = ClusterEntity.builder()
+                .id(UUID.randomUUID())
+                .name(CLUSTER)
+                .createdAt(created)
+                .updatedAt(created)
+                .build();
+        row.set(existing);
+
+        ClusterEntity saved = inventory.upsertClusterFromK8s(CLUSTER);
+
+        assertEquals(existing.getId(), saved.getId());
+        assertEquals(created, saved.getCreatedAt());
+        // One save: the snapshot's own, not a second registration
+        verify(clusterRepo).save(any());
+        verify(clusterRepo).save(existing);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ClusterNodeEntity> savedNodes() {
+        ArgumentCaptor<List<ClusterNodeEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(nodeRepo).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Node node(String name, String internalIp) {
+        return new NodeBuilder()
+                .withNewMetadata().withName(name).endMetadata()
+                .withNewStatus()
+                .addNewAddress().withType("InternalIP").withAddress(internalIp).endAddress()
+                .endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.srikar.kubernetes.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** fieldsV1 tree surgery behind the legacy-manager ownership migration. */
+class ServerSideApplierTest {
+
+    @Test
+    void movesAWholeTopLevelSubtree() {
+        Map<String, Object> legacy = fields(
+                "f:data", fields(".", fields(), "f:a", fields(), "f:b", fields()),
+                "f:type", fields());
+        Map<String, Object> ours = fields(
+                "f:data", fields("f:a", fields()));
+
+        assertTrue(ServerSideApplier.move(legacy, ours, path("f:data"), 0));
+
+        assertEquals(fields("f:type", fields()), legacy);
+        assertEquals(fields("f:data", fields("f:a", fields(), ".", fields(), "f:b", fields())), ours);
+    }
+
+    @Test
+    void movesANestedSubtreeAndKeepsItsSiblings() {
+        Map<String, Object> legacy = fields(
+                "f:metadata", fields(
+                        "f:labels", fields("f:app", fields()),
+                        "f:annotations", fields("f:note", fields())));
+        Map<String, Object> ours = fields(
+                "f:metadata", fields("f:name", fields()));
+
+        assertTrue(ServerSideApplier.move(legacy, ours, path("f:metadata/f:labels"), 0));
+
+        assertEquals(fields("f:metadata", fields("f:annotations", fields("f:note", fields()))), legacy);
+        assertEquals(fields("f:metadata", fields(
+                "f:name", fields(),
+                "f:labels", fields("f:app", fields()))), ours);
+    }
+
+    @Test
+    void prunesParentsLeftEmpty() {
+        Map<String, Object> legacy = fields(
+                "f:metadata", fields("f:labels", fields("f:app", fields())));
+        Map<String, Object> ours = fields();
+
+        assertTrue(ServerSideApplier.move(legacy, ours, path("f:metadata/f:labels"), 0));
+
+        assertTrue(legacy.isEmpty());
+        assertEquals(fields("f:metadata", fields("f:labels", fields("f:app", fields()))), ours);
+    }
+
+    @Test
+    void missingPathChangesNeitherSide() {
+        Map<String, Object> legacy = fields(
+                "f:metadata", fields("f:annotations", fields("f:note", fields())));
+        Map<String, Object> ours = fields();
+
+        assertFalse(ServerSideApplier.move(legacy, ours, path("f:metadata/f:labels"), 0));
+        assertFalse(ServerSideApplier.move(legacy, ours, path("f:spec/f:template"), 0));
+
+        assertEquals(fields("f:metadata", fields("f:annotations", fields("f:note", fields()))), legacy);
+        // No empty "f:metadata" entry: in fieldsV1 that would claim ownership of the field itself
+        assertTrue(ours.isEmpty());
+    }
+
+    @Test
+    void containsFollowsThePathThroughMapsOnly() {
+        Map<String, Object> tree = fields(
+                "f:spec", fields("f:template", fields("f:spec", fields())),
+                "f:leaf", "not a map");
+
+        assertTrue(ServerSideApplier.contains(tree, path("f:spec"), 0));
+        assertTrue(ServerSideApplier.contains(tree, path("f:spec/f:template/f:spec"), 0));
+        assertFalse(ServerSideApplier.contains(tree, path("f:spec/f:template/f:spec"), 1));
+        assertFalse(ServerSideApplier.contains(tree, path("f:spec/f:replicas"), 0));
+        assertFalse(ServerSideApplier.contains(tree, path("f:leaf"), 0));
+    }
+
+    @Test
+    void mergeAddsMissingFieldsAndKeepsExistingOnes() {
+        Map<String, Object> to = fields(
+                "f:containers", fields("k:{\"name\":\"app\"}", fields("f:image", fields())),
+                "f:kept", "ours");
+        Map<String, Object> from = fields(
+                "f:containers", fields(
+                        "k:{\"name\":\"app\"}", fields("f:env", fields()),
+                        "k:{\"name\":\"sidecar\"}", fields()),
+                "f:kept", "theirs");
+
+        ServerSideApplier.merge(from, to);
+
+        assertEquals(fields(
+                "f:containers", fields(
+                        "k:{\"name\":\"app\"}", fields("f:image", fields(), "f:env", fields()),
+                        "k:{\"name\":\"sidecar\"}", fields()),
+                "f:kept", "ours"), to);
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Mutable fieldsV1 map from alternating keys and values. */
+    private static Map<String, Object> fields(Object... keysAndValues) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            m.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return m;
+    }
+
+    private static String[] path(String p) {
+        return p.split("/");
+    }
+}
@@ -0,0 +1,123 @@
+package com.srikar.kubernetes.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** Rfc3339 against java.time as the reference implementation. */
+class Rfc3339Test {
+
+    /** The grammar Rfc3339 accepts; java.time accepts a superset of it. */
+    private static final Pattern GRAMMAR = Pattern.compile(
+            "\\d{4}-\\d\\d-\\d\\d[Tt]\\d\\d:\\d\\d:\\d\\d(\\.\\d{1,9})?([Zz]|[+-]\\d\\d:\\d\\d)");
+
+    private static final String[] FRACTIONS = {"", ".S", ".SSS", ".SSSSSS", ".SSSSSSSSS"};
+
+    private static final long MIN_SECOND = -62_167_219_200L;  // 0000-01-01T00:00:00Z
+    private static final long MAX_SECOND = 253_402_300_799L;  // 9999-12-31T23:59:59Z
+
+    @Test
+    void parsesKubernetesFormats() {
+        assertEquals(Instant.parse("2024-01-01T10:00:00Z"), parse("2024-01-01T10:00:00Z"));
+        assertEquals(Instant.parse("2024-01-01T10:00:00.123456Z"), parse("2024-01-01T10:00:00.123456Z"));
+        assertEquals(Instant.parse("2024-01-01T08:30:00Z"), parse("2024-01-01T10:00:00+01:30"));
+        assertEquals(Instant.parse("2024-02-29T23:59:59Z"), parse("2024-02-29t23:59:59z"));
+    }
+
+    @Test
+    void rejectsWhatJavaTimeRejects() {
+        assertInvalid("2023-02-29T00:00:00Z");      // not a leap year
+        assertInvalid("1900-02-29T00:00:00Z");      // century, not a leap year
+        assertInvalid("2024-04-31T00:00:00Z");
+        assertInvalid("2024-01-01T24:00:00Z");
+        assertInvalid("2024-01-01T23:59:60Z");      // leap second
+        assertInvalid("2024-01-01T00:00:00+18:01");
+        assertInvalid("2024-01-01T00:00:00.1234567890Z");
+        assertInvalid("2024-01-01 00:00:00Z");
+        assertInvalid("2024-01-01T00:00:00");
+        assertInvalid("");
+        assertInvalid(null);
+        assertNull(Helper.parseToInstant("not a timestamp"));
+    }
+
+    @Test
+    void matchesJavaTimeOnRandomInstantsOffsetsAndPrecisions() {
+        Random rnd = new Random(20240101L);
+        for (int i = 0; i < 200_000; i++) {
+            long second = MIN_SECOND + (long) (rnd.nextDouble() * (MAX_SECOND - MIN_SECOND));
+            Instant instant = Instant.ofEpochSecond(second, rnd.nextInt(1_000_000_000));
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((rnd.nextInt(73) - 36) * 1800);   // ±18:00, 30 min steps
+
+            OffsetDateTime local = instant.atOffset(offset);
+            if (local.getYear() < 0 || local.getYear() > 9999) continue;
+
+            String pattern = "uuuu-MM-dd'T'HH:mm:ss" + FRACTIONS[rnd.nextInt(FRACTIONS.length)] + "XXX";
+            String text = DateTimeFormatter.ofPattern(pattern).format(local);
+
+            assertNotNull(parse(text), text);
+            assertEquals(javaTime(text), parse(text), text);
+        }
+    }
+
+    @Test
+    void fuzzedInputNeverDisagreesWithJavaTime() {
+        String[] seeds = {
+                "2024-01-01T10:00:00Z",
+                "2024-02-29T23:59:59.123456789+05:30",
+                "0000-03-01T00:00:00-18:00",
+                "9999-12-31T23:59:59.5z"
+        };
+        String alphabet = "0123456789-:+.TtZz x";
+        Random rnd = new Random(7L);
+
+        for (int i = 0; i < 500_000; i++) {
+            StringBuilder b = new StringBuilder(seeds[rnd.nextInt(seeds.length)]);
+            int mutations = 1 + rnd.nextInt(3);
+            for (int m = 0; m < mutations && !b.isEmpty(); m++) {
+                int at = rnd.nextInt(b.length());
+                char c = alphabet.charAt(rnd.nextInt(alphabet.length()));
+                switch (rnd.nextInt(3)) {
+                    case 0 -> b.setCharAt(at, c);
+                    case 1 -> b.insert(at, c);
+                    default -> b.deleteCharAt(at);
+                }
+            }
+            String text = b.toString();
+
+            Instant expected = javaTime(text);
+            Instant actual = parse(text);
+            if (actual != null || GRAMMAR.matcher(text).matches()) {
+                assertEquals(expected, actual, text);
+            }
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static Instant parse(String text) {
+        long second = Rfc3339.parseEpochSecond(text);
+        return (second == Rfc3339.INVALID) ? null : Instant.ofEpochSecond(second, Rfc3339.parseNano(text));
+    }
+
+    private static Instant javaTime(String text) {
+        try {
+            return OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void assertInvalid(String text) {
+        assertEquals(Rfc3339.INVALID, Rfc3339.parseEpochSecond(text), text);
+    }
+}